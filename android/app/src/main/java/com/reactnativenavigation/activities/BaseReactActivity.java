@@ -30,23 +30,31 @@ import com.facebook.react.modules.core.DefaultHardwareBackBtnHandler;
 import com.facebook.react.shell.MainReactPackage;
 import com.reactnativenavigation.BuildConfig;
 import com.reactnativenavigation.controllers.ModalController;
+import com.reactnativenavigation.core.PropsStore;
 import com.reactnativenavigation.core.RctManager;
+import com.reactnativenavigation.core.ReactInstanceConfig;
+import com.reactnativenavigation.core.StyleRegistry;
 import com.reactnativenavigation.core.objects.Button;
 import com.reactnativenavigation.core.objects.Drawer;
 import com.reactnativenavigation.core.objects.Screen;
+import com.reactnativenavigation.modal.ModalShellPool;
 import com.reactnativenavigation.modal.RnnModal;
 import com.reactnativenavigation.packages.RnnPackage;
 import com.reactnativenavigation.utils.ContextProvider;
+import com.reactnativenavigation.utils.ShellInflater;
+import com.reactnativenavigation.utils.StartupTracer;
 import com.reactnativenavigation.utils.StyleHelper;
 import com.reactnativenavigation.views.RnnToolBar;
 import com.reactnativenavigation.views.ScreenStack;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import javax.annotation.Nullable;
 
-public abstract class BaseReactActivity extends AppCompatActivity implements DefaultHardwareBackBtnHandler {
+public abstract class BaseReactActivity extends AppCompatActivity implements DefaultHardwareBackBtnHandler,
+        ReactInstanceConfig {
 
     protected static final String KEY_ANIMATED = "animated";
     protected static final String KEY_BADGE = "badge";
@@ -69,6 +77,7 @@ public abstract class BaseReactActivity extends AppCompatActivity implements Def
     protected ActionBarDrawerToggle mDrawerToggle;
     protected DrawerLayout mDrawerLayout;
     protected ScreenStack mDrawerStack;
+    private final List<Runnable> mPendingNavigation = new ArrayList<>();
 
     /**
      * Returns the name of the bundle in assets. If this is null, and no file path is specified for
@@ -153,6 +162,7 @@ public abstract class BaseReactActivity extends AppCompatActivity implements Def
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        StartupTracer.mark(StartupTracer.ACTIVITY_CREATE);
         ContextProvider.setActivityContext(this);
         mReactInstanceManager = createReactInstanceManager();
         handleOnCreate();
@@ -188,6 +198,53 @@ public abstract class BaseReactActivity extends AppCompatActivity implements Def
         }
     }
 
+    /**
+     * Called when the layout this activity was started with can't be found, e.g. the process was recreated
+     * and the persisted copy is gone. Relaunches the app so JS starts it again.
+     */
+    protected void onLaunchSpecMissing() {
+        Log.e(TAG, "Launch spec not found, relaunching the app");
+        Intent launchIntent = getPackageManager().getLaunchIntentForPackage(getPackageName());
+        if (launchIntent != null) {
+            launchIntent.addFlags(Intent.FLAG_ACTIVITY_CLEAR_TASK | Intent.FLAG_ACTIVITY_NEW_TASK);
+            startActivity(launchIntent);
+        }
+        finish();
+    }
+
+    /**
+     * Returns whether the layout described by the launch spec is displayed. Navigation commands which arrive
+     * before that are queued.
+     */
+    protected boolean isLayoutShown() {
+        return true;
+    }
+
+    /**
+     * Queues {@code command} if the layout isn't shown yet.
+     *
+     * @return Whether the command was queued
+     */
+    protected boolean queueUntilLayoutShown(Runnable command) {
+        if (isLayoutShown()) {
+            return false;
+        }
+        mPendingNavigation.add(command);
+        return true;
+    }
+
+    /**
+     * Runs the navigation commands queued while the launch spec was pending. Must be called once the layout is
+     * shown.
+     */
+    protected void onLayoutShown() {
+        List<Runnable> pending = new ArrayList<>(mPendingNavigation);
+        mPendingNavigation.clear();
+        for (Runnable command : pending) {
+            command.run();
+        }
+    }
+
     @Override
     protected void onResume() {
         super.onResume();
@@ -212,6 +269,8 @@ public abstract class BaseReactActivity extends AppCompatActivity implements Def
     @Override
     protected void onDestroy() {
         super.onDestroy();
+        ShellInflater.release(this);
+        ModalShellPool.getInstance().clear(this);
 
         // Destroy react instance manager only if there are no resumed react activities
         BaseReactActivity activity = ContextProvider.getActivityContext();
@@ -279,6 +338,23 @@ public abstract class BaseReactActivity extends AppCompatActivity implements Def
 
     public abstract int getScreenStackSize();
 
+    /**
+     * Returns the activity's toolbar, which isn't part of any modal.
+     */
+    @Nullable
+    public RnnToolBar getToolbar() {
+        return mToolbar;
+    }
+
+    /**
+     * Returns the stack which holds the screen displayed by the activity below any modals, or
+     * {@code null} if there's none.
+     */
+    @Nullable
+    public ScreenStack getCurrentScreenStack() {
+        return null;
+    }
+
     @Override
     public void onConfigurationChanged(Configuration newConfig) {
         super.onConfigurationChanged(newConfig);
@@ -314,10 +390,11 @@ public abstract class BaseReactActivity extends AppCompatActivity implements Def
             onBackPressed();
         } else {
             String eventId = Button.getButtonEventId(item);
-            assert eventId != null;
-
-            WritableMap params = Arguments.createMap();
-            RctManager.getInstance().sendEvent(eventId, getCurrentScreen(), params);
+            // Null if the item belonged to a screen which was removed in the meantime
+            if (eventId != null) {
+                WritableMap params = Arguments.createMap();
+                RctManager.getInstance().sendEvent(eventId, getCurrentScreen(), params);
+            }
         }
         return super.onOptionsItemSelected(item);
     }
@@ -375,15 +452,19 @@ public abstract class BaseReactActivity extends AppCompatActivity implements Def
      */
     public void onJSBundleReloaded() {
         removeAllReactViews();
+        // Payloads and style templates are registered again by the reloaded bundle
+        PropsStore.getInstance().clear();
+        StyleRegistry.getInstance().clearTemplates();
     }
 
     protected abstract void removeAllReactViews();
 
     @Override
     public void onBackPressed() {
-        ModalController modalController = ModalController.getInstance();
-        if (modalController.isModalDisplayed()) {
-            modalController.dismissModal();
+        // Modals with a window of their own receive back presses there, overlays are handled here
+        RnnModal modal = ModalController.getInstance().get();
+        if (modal != null) {
+            modal.onBackPressed();
             return;
         }
 
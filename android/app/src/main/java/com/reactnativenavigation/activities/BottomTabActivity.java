@@ -2,8 +2,8 @@ package com.reactnativenavigation.activities;
 
 import android.graphics.Color;
 import android.graphics.drawable.Drawable;
-import android.os.AsyncTask;
 import android.os.Bundle;
+import android.support.annotation.Nullable;
 import android.view.Menu;
 import android.view.View;
 import android.widget.FrameLayout;
@@ -12,20 +12,24 @@ import com.aurelhubert.ahbottomnavigation.AHBottomNavigation;
 import com.aurelhubert.ahbottomnavigation.AHBottomNavigationItem;
 import com.facebook.react.bridge.ReadableMap;
 import com.reactnativenavigation.R;
+import com.reactnativenavigation.controllers.LaunchSpecRegistry;
 import com.reactnativenavigation.core.RctManager;
 import com.reactnativenavigation.core.objects.Drawer;
+import com.reactnativenavigation.core.objects.LaunchSpec;
 import com.reactnativenavigation.core.objects.Screen;
+import com.reactnativenavigation.modal.ModalShellPool;
+import com.reactnativenavigation.utils.IconLoader;
+import com.reactnativenavigation.utils.IconUtils;
+import com.reactnativenavigation.utils.ImageUtils;
+import com.reactnativenavigation.utils.ShellInflater;
+import com.reactnativenavigation.utils.StartupTracer;
 import com.reactnativenavigation.utils.StyleHelper;
 import com.reactnativenavigation.views.RnnToolBar;
 import com.reactnativenavigation.views.ScreenStack;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
 
 public class BottomTabActivity extends BaseReactActivity implements AHBottomNavigation.OnTabSelectedListener {
-    public static final String DRAWER_PARAMS = "drawerParams";
-    public static final String EXTRA_SCREENS = "extraScreens";
 
     private static final String TAB_STYLE_BUTTON_COLOR = "tabBarButtonColor";
     private static final String TAB_STYLE_SELECTED_COLOR = "tabBarSelectedButtonColor";
@@ -36,27 +40,52 @@ public class BottomTabActivity extends BaseReactActivity implements AHBottomNavi
     private static int DEFAULT_TAB_BUTTON_COLOR = Color.GRAY;
     private static int DEFAULT_TAB_SELECTED_COLOR = 0xFF0000FF;
     private static boolean DEFAULT_TAB_INACTIVE_TITLES = true;
+    private static final int TAB_ICON_SIZE_DP = 24;
 
-    private AHBottomNavigation mBottomNavigation;
-    private FrameLayout mContentFrame;
-    private ArrayList<ScreenStack> mScreenStacks;
-    private int mCurrentStackPosition = -1;
+    protected AHBottomNavigation mBottomNavigation;
+    protected FrameLayout mContentFrame;
+    protected ArrayList<ScreenStack> mScreenStacks;
+    protected int mCurrentStackPosition = -1;
+    private int mPendingTabIcons;
 
     @Override
     protected void handleOnCreate() {
         super.handleOnCreate();
+        StartupTracer.mark(StartupTracer.LAYOUT_ACTIVITY_CREATE);
         mReactInstanceManager = RctManager.getInstance().getReactInstanceManager();
 
-        setContentView(R.layout.bottom_tab_activity);
+        setContentView(ShellInflater.obtain(this, R.layout.bottom_tab_activity));
+        ShellInflater.preinflate(this, R.layout.modal_layout);
+        ModalShellPool.getInstance().warmUp(this);
         mToolbar = (RnnToolBar) findViewById(R.id.toolbar);
         mBottomNavigation = (AHBottomNavigation) findViewById(R.id.bottom_tab_bar);
         mContentFrame = (FrameLayout) findViewById(R.id.contentFrame);
 
-        final ArrayList<Screen> screens = (ArrayList<Screen>) getIntent().getSerializableExtra(EXTRA_SCREENS);
-        final Drawer drawer = (Drawer) getIntent().getSerializableExtra(DRAWER_PARAMS);
+        LaunchSpecRegistry.getInstance().get(this, getIntent(), new LaunchSpecRegistry.OnLaunchSpecListener() {
+            @Override
+            public void onLaunchSpec(@Nullable LaunchSpec launchSpec) {
+                if (isFinishing()) {
+                    return;
+                }
+                if (launchSpec == null) {
+                    onLaunchSpecMissing();
+                    return;
+                }
+                showLayout(launchSpec);
+            }
+        });
+    }
+
+    /**
+     * Sets up the drawer, tabs and screen stacks described by {@code launchSpec}.
+     */
+    protected void showLayout(LaunchSpec launchSpec) {
+        final ArrayList<Screen> screens = launchSpec.screens;
+        final Drawer drawer = launchSpec.drawer;
         mBottomNavigation.setForceTint(true);
         setupDrawer(screens.get(0), drawer, R.id.drawerFrame, R.id.drawerLayout);
-        setupTabs(getIntent().getExtras());
+        setupTabs(launchSpec.style);
+        setupTabItems(screens);
         setupPages(screens);
 
         // Setup Toolbar after it's measured since icon height is dependent on Toolbar height
@@ -68,11 +97,72 @@ public class BottomTabActivity extends BaseReactActivity implements AHBottomNavi
         });
     }
 
-    private void setupPages(ArrayList<Screen> screens) {
-        new SetupTabsTask(this, mToolbar, screens).execute();
+    /**
+     * Creates a screen stack for each tab and displays the first one.
+     */
+    protected void setupPages(ArrayList<Screen> screens) {
+        mScreenStacks = new ArrayList<>();
+        for (Screen screen : screens) {
+            ScreenStack stack = new ScreenStack(this);
+            stack.push(screen);
+            mScreenStacks.add(stack);
+        }
+        mBottomNavigation.setOnTabSelectedListener(this);
+        this.onTabSelected(0, false);
+        onLayoutShown();
+    }
+
+    /**
+     * Adds an item for each tab to the tab bar.
+     */
+    protected void setupTabItems(ArrayList<Screen> screens) {
+        int placeholderSize = (int) ImageUtils.convertDpToPixel(TAB_ICON_SIZE_DP, this);
+        mPendingTabIcons = 0;
+        for (int i = 0; i < screens.size(); i++) {
+            Screen screen = screens.get(i);
+            // Tabs are displayed right away, icons which aren't cached yet are applied as they arrive
+            Drawable icon = IconUtils.getCachedIcon(this, screen.icon, -1, null);
+            if (icon == null) {
+                icon = IconUtils.createPlaceholder(placeholderSize);
+                mPendingTabIcons++;
+                loadTabIcon(i, screen);
+            }
+            AHBottomNavigationItem item = new AHBottomNavigationItem(screen.label, icon, Color.GRAY);
+            mBottomNavigation.addItem(item);
+        }
+        if (mPendingTabIcons == 0) {
+            StartupTracer.mark(StartupTracer.TAB_ICONS_READY);
+        }
     }
 
-    private void setupToolbar(ArrayList<Screen> screens) {
+    private void loadTabIcon(final int position, Screen screen) {
+        // The tab bar may be replaced before the icon arrives
+        final AHBottomNavigation bottomNavigation = mBottomNavigation;
+        screen.loadIcon(this, new IconLoader.OnIconLoadedListener() {
+            // Icons arriving after a timeout are delivered again, but the tab was only pending once
+            private boolean mCounted;
+
+            @Override
+            public void onIconLoaded(@Nullable Drawable icon) {
+                if (isFinishing() || bottomNavigation != mBottomNavigation) {
+                    return;
+                }
+                if (!mCounted) {
+                    mCounted = true;
+                    if (--mPendingTabIcons == 0) {
+                        StartupTracer.mark(StartupTracer.TAB_ICONS_READY);
+                    }
+                }
+                if (icon == null) {
+                    return;
+                }
+                bottomNavigation.getItem(position).setDrawable(icon);
+                bottomNavigation.refresh();
+            }
+        });
+    }
+
+    protected void setupToolbar(ArrayList<Screen> screens) {
         mToolbar.setScreens(screens);
         Screen initialScreen = screens.get(0);
         mToolbar.update(initialScreen);
@@ -87,7 +177,7 @@ public class BottomTabActivity extends BaseReactActivity implements AHBottomNavi
         }
     }
 
-    private void setupTabs(Bundle style) {
+    protected void setupTabs(Bundle style) {
         mBottomNavigation.setForceTitlesDisplay(style.getBoolean(TAB_STYLE_INACTIVE_TITLES, DEFAULT_TAB_INACTIVE_TITLES));
         mBottomNavigation.setForceTint(true);
         mBottomNavigation.setDefaultBackgroundColor(getColor(style, TAB_STYLE_BAR_BG_COLOR, DEFAULT_TAB_BAR_BG_COLOR));
@@ -104,7 +194,20 @@ public class BottomTabActivity extends BaseReactActivity implements AHBottomNavi
     }
 
     @Override
-    public void push(Screen screen) {
+    protected boolean isLayoutShown() {
+        return mScreenStacks != null;
+    }
+
+    @Override
+    public void push(final Screen screen) {
+        if (queueUntilLayoutShown(new Runnable() {
+            @Override
+            public void run() {
+                push(screen);
+            }
+        })) {
+            return;
+        }
         for (ScreenStack stack : mScreenStacks) {
             if (stack.peek().navigatorId.equals(screen.navigatorId)) {
                 stack.push(screen);
@@ -113,12 +216,20 @@ public class BottomTabActivity extends BaseReactActivity implements AHBottomNavi
         StyleHelper.updateStyles(mToolbar, getCurrentScreen());
 
         if (shouldToggleTabs(screen)) {
-            toggleTabs(screen.bottomTabsHidden, false);
+            toggleTabs(screen.style.bottomTabsHidden, false);
         }
     }
 
     @Override
-    public Screen pop(String navigatorId) {
+    public Screen pop(final String navigatorId) {
+        if (queueUntilLayoutShown(new Runnable() {
+            @Override
+            public void run() {
+                pop(navigatorId);
+            }
+        })) {
+            return null;
+        }
         for (ScreenStack stack : mScreenStacks) {
             if (stack.peek().navigatorId.equals(navigatorId)) {
                 Screen popped = stack.pop();
@@ -126,7 +237,7 @@ public class BottomTabActivity extends BaseReactActivity implements AHBottomNavi
                 StyleHelper.updateStyles(mToolbar, currentScreen);
 
                 if (shouldToggleTabs(currentScreen)) {
-                    toggleTabs(currentScreen.bottomTabsHidden, false);
+                    toggleTabs(currentScreen.style.bottomTabsHidden, false);
                 }
 
                 return popped;
@@ -136,7 +247,15 @@ public class BottomTabActivity extends BaseReactActivity implements AHBottomNavi
     }
 
     @Override
-    public Screen popToRoot(String navigatorId) {
+    public Screen popToRoot(final String navigatorId) {
+        if (queueUntilLayoutShown(new Runnable() {
+            @Override
+            public void run() {
+                popToRoot(navigatorId);
+            }
+        })) {
+            return null;
+        }
         for (ScreenStack stack : mScreenStacks) {
             if (stack.peek().navigatorId.equals(navigatorId)) {
                 Screen popped = stack.popToRoot();
@@ -144,7 +263,7 @@ public class BottomTabActivity extends BaseReactActivity implements AHBottomNavi
                 StyleHelper.updateStyles(mToolbar, currentScreen);
 
                 if (shouldToggleTabs(currentScreen)) {
-                    toggleTabs(currentScreen.bottomTabsHidden, false);
+                    toggleTabs(currentScreen.style.bottomTabsHidden, false);
                 }
 
                 return popped;
@@ -164,19 +283,32 @@ public class BottomTabActivity extends BaseReactActivity implements AHBottomNavi
     }
 
     @Override
-    public Screen resetTo(Screen screen) {
+    public Screen resetTo(final Screen screen) {
+        if (queueUntilLayoutShown(new Runnable() {
+            @Override
+            public void run() {
+                resetTo(screen);
+            }
+        })) {
+            return null;
+        }
         StyleHelper.updateStyles(mToolbar, screen);
         return mScreenStacks.get(mCurrentStackPosition).resetTo(screen);
     }
 
     @Override
     protected String getCurrentNavigatorId() {
-        return mScreenStacks.get(mCurrentStackPosition).peek().navigatorId;
+        return mScreenStacks != null ? mScreenStacks.get(mCurrentStackPosition).peek().navigatorId : null;
     }
 
     @Override
     public int getScreenStackSize() {
-        return mScreenStacks.get(mCurrentStackPosition).getStackSize();
+        return mScreenStacks != null ? mScreenStacks.get(mCurrentStackPosition).getStackSize() : 0;
+    }
+
+    @Override
+    public ScreenStack getCurrentScreenStack() {
+        return mScreenStacks != null && mCurrentStackPosition >= 0 ? mScreenStacks.get(mCurrentStackPosition) : null;
     }
 
     @Override
@@ -219,7 +351,15 @@ public class BottomTabActivity extends BaseReactActivity implements AHBottomNavi
         mBottomNavigation.setNotification(badge, tabIndex);
     }
 
-    public void switchToTab(ReadableMap params) {
+    public void switchToTab(final ReadableMap params) {
+        if (queueUntilLayoutShown(new Runnable() {
+            @Override
+            public void run() {
+                switchToTab(params);
+            }
+        })) {
+            return;
+        }
         Integer tabIndex;
         if (params.hasKey(KEY_TAB_INDEX)) {
             tabIndex = params.getInt(KEY_TAB_INDEX);
@@ -231,6 +371,9 @@ public class BottomTabActivity extends BaseReactActivity implements AHBottomNavi
     }
 
     public void toggleTabs(ReadableMap params) {
+        if (!isTabBarEnabled()) {
+            return;
+        }
         boolean hide = params.getBoolean(KEY_HIDDEN);
         boolean animated = params.getBoolean(KEY_ANIMATED);
         toggleTabs(hide, animated);
@@ -248,39 +391,20 @@ public class BottomTabActivity extends BaseReactActivity implements AHBottomNavi
     }
 
     private boolean shouldToggleTabs(Screen newScreen) {
-        return mBottomNavigation.isShown() == newScreen.bottomTabsHidden;
+        return isTabBarEnabled() && mBottomNavigation.isShown() == newScreen.style.bottomTabsHidden;
     }
 
-    private static class SetupTabsTask extends AsyncTask<Void, Void, Map<Screen, Drawable>> {
-        private BottomTabActivity mActivity;
-        private RnnToolBar mToolBar;
-        private ArrayList<Screen> mScreens;
-
-        public SetupTabsTask(BottomTabActivity context, RnnToolBar toolBar, ArrayList<Screen> screens) {
-            mActivity = context;
-            mToolBar = toolBar;
-            mScreens = screens;
-        }
-
-        @Override
-        protected Map<Screen, Drawable> doInBackground(Void... params) {
-            Map<Screen, Drawable> icons = new HashMap<>();
-            for (Screen screen : mScreens) {
-                if (screen.icon != null) {
-                    icons.put(screen, screen.getIcon(this.mActivity));
-                }
-            }
-            return icons;
-        }
-
-        @Override
-        protected void onPostExecute(Map<Screen, Drawable> icons) {
-            mActivity.setTabsWithIcons(mScreens, icons);
-            StyleHelper.updateStyles(mToolBar, mActivity.getCurrentScreen());
-        }
+    /**
+     * Returns whether the tab bar is part of the current layout.
+     */
+    protected boolean isTabBarEnabled() {
+        return true;
     }
 
     protected Integer findNavigatorTabIndex(String navigatorId) {
+        if (mScreenStacks == null) {
+            return null;
+        }
         for (int i = 0; i < mScreenStacks.size(); i++) {
             ScreenStack stack = mScreenStacks.get(i);
             if (!stack.isEmpty() && stack.peek().navigatorId.equals(navigatorId)) {
@@ -291,22 +415,12 @@ public class BottomTabActivity extends BaseReactActivity implements AHBottomNavi
         return null;
     }
 
-    private void setTabsWithIcons(ArrayList<Screen> screens, Map<Screen, Drawable> icons) {
-        mScreenStacks = new ArrayList<>();
-        for (Screen screen : screens) {
-            ScreenStack stack = new ScreenStack(this);
-            stack.push(screen);
-            mScreenStacks.add(stack);
-            AHBottomNavigationItem item = new AHBottomNavigationItem(screen.label, icons.get(screen), Color.GRAY);
-            mBottomNavigation.addItem(item);
-            mBottomNavigation.setOnTabSelectedListener(this);
-        }
-        this.onTabSelected(0, false);
-    }
-
-
     @Override
     protected void removeAllReactViews() {
+        // Null if the activity finished before its launch spec was delivered
+        if (mScreenStacks == null) {
+            return;
+        }
         for (ScreenStack screenStack : mScreenStacks) {
             screenStack.removeAllReactViews();
         }
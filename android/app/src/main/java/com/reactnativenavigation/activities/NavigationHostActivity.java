@@ -0,0 +1,206 @@
+package com.reactnativenavigation.activities;
+
+import android.app.Activity;
+import android.content.Intent;
+import android.os.Bundle;
+import android.support.v4.widget.DrawerLayout;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.aurelhubert.ahbottomnavigation.AHBottomNavigation;
+import com.reactnativenavigation.R;
+import com.reactnativenavigation.controllers.LaunchSpecRegistry;
+import com.reactnativenavigation.core.objects.Drawer;
+import com.reactnativenavigation.core.objects.LaunchSpec;
+import com.reactnativenavigation.core.objects.Screen;
+import com.reactnativenavigation.utils.StyleHelper;
+
+/**
+ * Hosts both single screen and tab based layouts, and switches between them in place instead of
+ * starting a new activity. The toolbar, and the drawer when it's the same in both layouts, are kept.
+ * <p>Used when an app is started with {@code singleActivityHost: true}, and to display the layout snapshot
+ * of the previous run while the JS bundle loads, see {@link #startWithSnapshot}.
+ */
+public class NavigationHostActivity extends BottomTabActivity {
+    private static final String STATE_INTENT = "hostIntent";
+    private static final String EXTRA_PROVISIONAL = "provisional";
+
+    // Set while a host displaying a snapshot is being started, and until it's created
+    private static boolean sSnapshotHostPending;
+    private static LaunchSpec sPendingLaunchSpec;
+
+    private boolean mTabBased;
+    private volatile boolean mProvisional;
+    private LaunchSpec mSnapshot;
+
+    /**
+     * Starts the host displaying only the chrome of {@code snapshot}: toolbar and tab bar, without any screens.
+     * The layout JS starts next replaces it in place, reusing the tab bar when it has the same structure.
+     */
+    public static void startWithSnapshot(Activity activity, LaunchSpec snapshot) {
+        Intent intent = new Intent(activity, NavigationHostActivity.class);
+        intent.addFlags(Intent.FLAG_ACTIVITY_CLEAR_TASK | Intent.FLAG_ACTIVITY_NEW_TASK);
+        intent.putExtra(EXTRA_PROVISIONAL, true);
+        LaunchSpecRegistry.getInstance().attach(activity, intent, snapshot);
+        synchronized (NavigationHostActivity.class) {
+            sSnapshotHostPending = true;
+            sPendingLaunchSpec = null;
+        }
+        activity.startActivity(intent);
+        activity.overridePendingTransition(0, 0);
+    }
+
+    /**
+     * Hands {@code launchSpec} over to a host which was started with a snapshot but isn't created yet.
+     * @return Whether the spec was taken
+     */
+    public static synchronized boolean offerLaunchSpec(LaunchSpec launchSpec) {
+        if (!sSnapshotHostPending) {
+            return false;
+        }
+        sPendingLaunchSpec = launchSpec;
+        return true;
+    }
+
+    /**
+     * Returns whether a snapshot is displayed, waiting for the layout started by JS.
+     */
+    public boolean isProvisional() {
+        return mProvisional;
+    }
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        // The intent holds the token of the current layout, which may have changed since the activity started
+        if (savedInstanceState != null && savedInstanceState.containsKey(STATE_INTENT)) {
+            setIntent((Intent) savedInstanceState.getParcelable(STATE_INTENT));
+        }
+        super.onCreate(savedInstanceState);
+    }
+
+    @Override
+    protected void handleOnCreate() {
+        mProvisional = getIntent().getBooleanExtra(EXTRA_PROVISIONAL, false);
+        super.handleOnCreate();
+
+        LaunchSpec pending;
+        synchronized (NavigationHostActivity.class) {
+            pending = sPendingLaunchSpec;
+            sPendingLaunchSpec = null;
+            sSnapshotHostPending = false;
+        }
+        if (pending != null) {
+            setLaunchSpec(pending);
+        }
+    }
+
+    @Override
+    protected void onSaveInstanceState(Bundle outState) {
+        super.onSaveInstanceState(outState);
+        outState.putParcelable(STATE_INTENT, getIntent());
+    }
+
+    /**
+     * Replaces the current layout with the one described by {@code launchSpec}. Must be called on the UI thread.
+     */
+    public void setLaunchSpec(LaunchSpec launchSpec) {
+        if (isFinishing()) {
+            return;
+        }
+        getIntent().removeExtra(EXTRA_PROVISIONAL);
+        LaunchSpecRegistry.getInstance().attach(this, getIntent(), launchSpec);
+
+        // The snapshot is restored asynchronously, the real spec may arrive before it was shown
+        boolean reconcile = mProvisional && mSnapshot != null && mSnapshot.hasSameStructure(launchSpec);
+        mProvisional = false;
+        mSnapshot = null;
+        if (reconcile) {
+            // The tab bar already displays these tabs, only the screens are missing
+            setupDrawer(launchSpec.screens.get(0), launchSpec.drawer, R.id.drawerFrame, R.id.drawerLayout);
+            setupTabs(launchSpec.style);
+            setupPages(launchSpec.screens);
+            setupToolbar(launchSpec.screens);
+            return;
+        }
+
+        removeLayout();
+        showLayout(launchSpec);
+    }
+
+    @Override
+    protected void showLayout(LaunchSpec launchSpec) {
+        mTabBased = launchSpec.tabBased;
+        if (mProvisional) {
+            showSnapshot(launchSpec);
+        } else {
+            super.showLayout(launchSpec);
+        }
+        mBottomNavigation.setVisibility(mTabBased ? View.VISIBLE : View.GONE);
+    }
+
+    private void showSnapshot(LaunchSpec snapshot) {
+        mSnapshot = snapshot;
+        Screen screen = snapshot.screens.get(0);
+        mBottomNavigation.setForceTint(true);
+        setupTabs(snapshot.style);
+        setupTabItems(snapshot.screens);
+        mToolbar.update(screen);
+        StyleHelper.setWindowStyle(getWindow(), this, screen);
+    }
+
+    @Override
+    protected boolean isTabBarEnabled() {
+        return mTabBased;
+    }
+
+    private void removeLayout() {
+        if (mScreenStacks != null) {
+            removeAllReactViews();
+            mContentFrame.removeAllViews();
+            mScreenStacks = null;
+        }
+        mCurrentStackPosition = -1;
+
+        // Tabs can't be removed from the tab bar, a new one replaces it
+        ViewGroup parent = (ViewGroup) mBottomNavigation.getParent();
+        int index = parent.indexOfChild(mBottomNavigation);
+        AHBottomNavigation bottomNavigation = new AHBottomNavigation(this);
+        bottomNavigation.setId(R.id.bottom_tab_bar);
+        parent.removeViewAt(index);
+        parent.addView(bottomNavigation, index, mBottomNavigation.getLayoutParams());
+        mBottomNavigation = bottomNavigation;
+    }
+
+    @Override
+    protected void setupDrawer(Screen screen, Drawer drawer, int drawerFrameId, int drawerLayoutId) {
+        boolean hasDrawer = drawer != null && drawer.left != null;
+        if (mDrawerStack != null) {
+            if (hasDrawer && !mDrawerStack.isEmpty() &&
+                    mDrawerStack.peek().screenId.equals(drawer.left.screenId)) {
+                // Same drawer in both layouts, keep it mounted
+                return;
+            }
+            removeDrawer();
+        }
+
+        super.setupDrawer(screen, drawer, drawerFrameId, drawerLayoutId);
+        DrawerLayout drawerLayout = (DrawerLayout) findViewById(drawerLayoutId);
+        drawerLayout.setDrawerLockMode(hasDrawer ? DrawerLayout.LOCK_MODE_UNLOCKED : DrawerLayout.LOCK_MODE_LOCKED_CLOSED);
+    }
+
+    private void removeDrawer() {
+        mDrawerStack.removeAllReactViews();
+        ((ViewGroup) mDrawerStack.getParent()).removeView(mDrawerStack);
+        mDrawerStack = null;
+        mToolbar.removeDrawer();
+        mDrawerToggle = null;
+        mDrawerLayout = null;
+    }
+
+    @Override
+    protected void removeAllReactViews() {
+        if (mScreenStacks != null) {
+            super.removeAllReactViews();
+        }
+    }
+}
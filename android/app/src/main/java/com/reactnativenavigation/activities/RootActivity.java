@@ -1,9 +1,15 @@
 package com.reactnativenavigation.activities;
 
+import android.support.annotation.Nullable;
 import android.view.ViewGroup;
 
 import com.facebook.react.ReactRootView;
+import com.reactnativenavigation.R;
+import com.reactnativenavigation.controllers.LaunchSpecRegistry;
+import com.reactnativenavigation.core.objects.LaunchSpec;
 import com.reactnativenavigation.core.objects.Screen;
+import com.reactnativenavigation.utils.IconManifest;
+import com.reactnativenavigation.utils.ShellInflater;
 
 /**
  * This activity is used to start the JS execution where we load our actual app/screens (index.android.js)
@@ -21,7 +27,47 @@ public class RootActivity extends BaseReactActivity {
         if (!getReactInstanceManager().hasStartedCreatingInitialContext()) {
             // Trigger react context initialization, global javascript code will now execute
             getReactInstanceManager().createReactContextInBackground();
+            // Decode the icons used in the previous run while the JS bundle is loading
+            IconManifest.getInstance(this).warmUp(this);
         }
+        if (getReactInstanceManager().getCurrentReactContext() == null) {
+            loadPreviousLayout();
+        }
+    }
+
+    /**
+     * Returns whether the layout of the previous run should be displayed while the JS bundle loads.
+     * The screens themselves are displayed once JS starts the app.
+     */
+    protected boolean shouldShowLayoutSnapshot() {
+        return false;
+    }
+
+    /**
+     * Reads the layout of the previous run, and either displays it or inflates the views of the activity
+     * which displayed it while the JS bundle is loading.
+     */
+    private void loadPreviousLayout() {
+        LaunchSpecRegistry.getInstance().loadSnapshot(this, new LaunchSpecRegistry.OnLaunchSpecListener() {
+            @Override
+            public void onLaunchSpec(@Nullable LaunchSpec snapshot) {
+                // Not needed anymore if JS already started the app while the snapshot was read
+                if (isFinishing() || getReactInstanceManager().getCurrentReactContext() != null) {
+                    return;
+                }
+                if (snapshot == null || snapshot.screens.isEmpty()) {
+                    return;
+                }
+                if (shouldShowLayoutSnapshot()) {
+                    NavigationHostActivity.startWithSnapshot(RootActivity.this, snapshot);
+                } else if (snapshot.tabBased) {
+                    ShellInflater.preinflate(RootActivity.this, R.layout.bottom_tab_activity, BottomTabActivity.class);
+                } else {
+                    ShellInflater.preinflate(RootActivity.this, R.layout.single_screen_activity,
+                            SingleScreenActivity.class);
+                }
+            }
+        });
     }
 
     @Override
@@ -1,33 +1,55 @@
 package com.reactnativenavigation.activities;
 
+import android.support.annotation.Nullable;
 import android.widget.FrameLayout;
 
 import com.reactnativenavigation.R;
+import com.reactnativenavigation.controllers.LaunchSpecRegistry;
 import com.reactnativenavigation.core.RctManager;
 import com.reactnativenavigation.core.objects.Drawer;
+import com.reactnativenavigation.core.objects.LaunchSpec;
 import com.reactnativenavigation.core.objects.Screen;
+import com.reactnativenavigation.modal.ModalShellPool;
+import com.reactnativenavigation.utils.ShellInflater;
+import com.reactnativenavigation.utils.StartupTracer;
 import com.reactnativenavigation.utils.StyleHelper;
 import com.reactnativenavigation.views.RnnToolBar;
 import com.reactnativenavigation.views.ScreenStack;
 
 public class SingleScreenActivity extends BaseReactActivity {
 
-    public static final String DRAWER_PARAMS = "drawerParams";
-    public static final String EXTRA_SCREEN = "extraScreen";
-
     private String mNavigatorId;
     private ScreenStack mScreenStack;
 
     @Override
     protected void handleOnCreate() {
         super.handleOnCreate();
+        StartupTracer.mark(StartupTracer.LAYOUT_ACTIVITY_CREATE);
         mReactInstanceManager = RctManager.getInstance().getReactInstanceManager();
 
-        setContentView(R.layout.single_screen_activity);
+        setContentView(ShellInflater.obtain(this, R.layout.single_screen_activity));
+        ShellInflater.preinflate(this, R.layout.modal_layout);
+        ModalShellPool.getInstance().warmUp(this);
         mToolbar = (RnnToolBar) findViewById(R.id.toolbar);
 
-        final Screen screen = (Screen) getIntent().getSerializableExtra(EXTRA_SCREEN);
-        final Drawer drawer = (Drawer) getIntent().getSerializableExtra(DRAWER_PARAMS);
+        LaunchSpecRegistry.getInstance().get(this, getIntent(), new LaunchSpecRegistry.OnLaunchSpecListener() {
+            @Override
+            public void onLaunchSpec(@Nullable LaunchSpec launchSpec) {
+                if (isFinishing()) {
+                    return;
+                }
+                if (launchSpec == null) {
+                    onLaunchSpecMissing();
+                    return;
+                }
+                showLayout(launchSpec);
+            }
+        });
+    }
+
+    private void showLayout(LaunchSpec launchSpec) {
+        final Screen screen = launchSpec.screens.get(0);
+        final Drawer drawer = launchSpec.drawer;
 
         mNavigatorId = screen.navigatorId;
         setupToolbar(screen);
@@ -38,6 +60,7 @@ public class SingleScreenActivity extends BaseReactActivity {
         assert contentFrame != null;
         contentFrame.addView(mScreenStack);
         mScreenStack.push(screen);
+        onLayoutShown();
 
         // Setup Toolbar after it's measured since icon height is dependent on Toolbar height
         contentFrame.post(new Runnable() {
@@ -53,27 +76,64 @@ public class SingleScreenActivity extends BaseReactActivity {
     }
 
     @Override
-    public void push(Screen screen) {
+    protected boolean isLayoutShown() {
+        return mScreenStack != null;
+    }
+
+    @Override
+    public void push(final Screen screen) {
+        if (queueUntilLayoutShown(new Runnable() {
+            @Override
+            public void run() {
+                push(screen);
+            }
+        })) {
+            return;
+        }
         mScreenStack.push(screen);
         StyleHelper.updateStyles(mToolbar, screen);
     }
 
     @Override
-    public Screen pop(String navigatorId) {
+    public Screen pop(final String navigatorId) {
+        if (queueUntilLayoutShown(new Runnable() {
+            @Override
+            public void run() {
+                pop(navigatorId);
+            }
+        })) {
+            return null;
+        }
         Screen popped = mScreenStack.pop();
         StyleHelper.updateStyles(mToolbar, getCurrentScreen());
         return popped;
     }
 
     @Override
-    public Screen popToRoot(String navigatorId) {
+    public Screen popToRoot(final String navigatorId) {
+        if (queueUntilLayoutShown(new Runnable() {
+            @Override
+            public void run() {
+                popToRoot(navigatorId);
+            }
+        })) {
+            return null;
+        }
         Screen popped = mScreenStack.popToRoot();
         StyleHelper.updateStyles(mToolbar, getCurrentScreen());
         return popped;
     }
 
     @Override
-    public Screen resetTo(Screen screen) {
+    public Screen resetTo(final Screen screen) {
+        if (queueUntilLayoutShown(new Runnable() {
+            @Override
+            public void run() {
+                resetTo(screen);
+            }
+        })) {
+            return null;
+        }
         Screen popped = mScreenStack.resetTo(screen);
         StyleHelper.updateStyles(mToolbar, screen);
         return popped;
@@ -91,16 +151,24 @@ public class SingleScreenActivity extends BaseReactActivity {
             return currentScreen;
         }
 
-        return mScreenStack.peek();
+        return mScreenStack != null ? mScreenStack.peek() : null;
+    }
+
+    @Override
+    public ScreenStack getCurrentScreenStack() {
+        return mScreenStack;
     }
 
     @Override
     public int getScreenStackSize() {
-        return mScreenStack.getStackSize();
+        return mScreenStack != null ? mScreenStack.getStackSize() : 0;
     }
 
     @Override
     protected void removeAllReactViews() {
-        mScreenStack.removeAllReactViews();
+        // Null if the activity finished before its launch spec was delivered
+        if (mScreenStack != null) {
+            mScreenStack.removeAllReactViews();
+        }
     }
 }
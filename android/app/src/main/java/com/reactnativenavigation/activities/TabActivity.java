@@ -8,9 +8,11 @@ import com.reactnativenavigation.R;
 import com.reactnativenavigation.adapters.ViewPagerAdapter;
 import com.reactnativenavigation.core.RctManager;
 import com.reactnativenavigation.core.objects.Screen;
+import com.reactnativenavigation.utils.ShellInflater;
 import com.reactnativenavigation.utils.StyleHelper;
 import com.reactnativenavigation.views.RnnTabLayout;
 import com.reactnativenavigation.views.RnnToolBar;
+import com.reactnativenavigation.views.ScreenStack;
 
 import java.util.ArrayList;
 
@@ -31,12 +33,12 @@ public class TabActivity extends BaseReactActivity {
         super.handleOnCreate();
         mReactInstanceManager = RctManager.getInstance().getReactInstanceManager();
 
-        setContentView(R.layout.tab_activity);
+        setContentView(ShellInflater.obtain(this, R.layout.tab_activity));
         mToolbar = (RnnToolBar) findViewById(R.id.toolbar);
         mTabLayout = (RnnTabLayout) findViewById(R.id.tabLayout);
         mViewPager = (ViewPager) findViewById(R.id.viewPager);
 
-        ArrayList<Screen> screens = (ArrayList<Screen>) getIntent().getSerializableExtra(EXTRA_SCREENS);
+        ArrayList<Screen> screens = getIntent().getParcelableArrayListExtra(EXTRA_SCREENS);
 
         setupToolbar(screens);
         setupViewPager(screens);
@@ -100,4 +102,9 @@ public class TabActivity extends BaseReactActivity {
     public int getScreenStackSize() {
         return mAdapter.getStackSizeForNavigatorId(getCurrentNavigatorId());
     }
+
+    @Override
+    public ScreenStack getCurrentScreenStack() {
+        return mAdapter.getScreenStack(mViewPager.getCurrentItem());
+    }
 }
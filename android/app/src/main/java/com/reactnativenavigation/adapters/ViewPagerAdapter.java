@@ -9,6 +9,7 @@ import android.view.ViewGroup;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.reactnativenavigation.activities.BaseReactActivity;
+import com.reactnativenavigation.core.EventDispatcher;
 import com.reactnativenavigation.core.RctManager;
 import com.reactnativenavigation.core.objects.Screen;
 import com.reactnativenavigation.utils.StyleHelper;
@@ -26,6 +27,11 @@ public class ViewPagerAdapter extends PagerAdapter implements TabLayout.OnTabSel
 
     private static final String EVENT_ON_TAB_SELECTED = "OnTabSelected";
 
+    static {
+        // Only the last of several tabs selected within a frame is reported
+        EventDispatcher.setCoalescingRule(EVENT_ON_TAB_SELECTED, EVENT_ON_TAB_SELECTED, true);
+    }
+
     private ViewPager mViewPager;
     private RnnToolBar mToolbar;
     private final ArrayList<ScreenStack> mScreenStacks;
@@ -42,6 +48,8 @@ public class ViewPagerAdapter extends PagerAdapter implements TabLayout.OnTabSel
         mStackByNavigatorId = new HashMap<>();
         for (Screen screen : screens) {
             ScreenStack stack = new ScreenStack(context);
+            // Pages next to the selected one stay attached, only the first one is displayed initially
+            stack.setCovered(!mScreenStacks.isEmpty());
             stack.push(screen);
             mScreenStacks.add(stack);
             mNavigatorIds.add(screen.navigatorId);
@@ -101,6 +109,9 @@ public class ViewPagerAdapter extends PagerAdapter implements TabLayout.OnTabSel
         // Set the viewPager's current item
         int position = tab.getPosition();
         mViewPager.setCurrentItem(position);
+        for (int i = 0; i < mScreenStacks.size(); i++) {
+            mScreenStacks.get(i).setCovered(i != position);
+        }
 
         // Set screen buttons
         Screen prevScreen = mScreenStacks.get(mCurrentPage).peek();
@@ -126,6 +137,10 @@ public class ViewPagerAdapter extends PagerAdapter implements TabLayout.OnTabSel
 
     }
 
+    public ScreenStack getScreenStack(int position) {
+        return mScreenStacks.get(position);
+    }
+
     public String getNavigatorId(int position) {
         return mNavigatorIds.get(position);
     }
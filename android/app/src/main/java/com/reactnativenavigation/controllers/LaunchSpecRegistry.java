@@ -0,0 +1,246 @@
+package com.reactnativenavigation.controllers;
+
+import android.content.Context;
+import android.content.Intent;
+import android.content.pm.PackageManager;
+import android.os.AsyncTask;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Parcel;
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+import com.reactnativenavigation.core.objects.LaunchSpec;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Hands the {@link LaunchSpec} over to the started activity within the process, so only a token goes
+ * through the Intent. A copy is persisted in the background and is only read if the process was killed
+ * and the activity is recreated from its Intent.
+ */
+public class LaunchSpecRegistry {
+    private static final String TAG = "LaunchSpecRegistry";
+    private static final String EXTRA_LAUNCH_TOKEN = "launchToken";
+    private static final String PERSISTED_SPEC_FILE = "rnn_launch_spec";
+    private static LaunchSpecRegistry sInstance;
+
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private String mToken;
+    private LaunchSpec mSpec;
+
+    public interface OnLaunchSpecListener {
+        void onLaunchSpec(@Nullable LaunchSpec spec);
+    }
+
+    private LaunchSpecRegistry() {
+        // Singleton
+    }
+
+    public static synchronized LaunchSpecRegistry getInstance() {
+        if (sInstance == null) {
+            sInstance = new LaunchSpecRegistry();
+        }
+        return sInstance;
+    }
+
+    /**
+     * Registers {@code spec} as the current root layout and stores its token in {@code intent}.
+     */
+    public void attach(Context context, Intent intent, LaunchSpec spec) {
+        final String token = UUID.randomUUID().toString();
+        synchronized (this) {
+            mToken = token;
+            mSpec = spec;
+        }
+        intent.putExtra(EXTRA_LAUNCH_TOKEN, token);
+
+        final Context appContext = context.getApplicationContext();
+        AsyncTask.THREAD_POOL_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                persist(appContext, token);
+            }
+        });
+    }
+
+    /**
+     * Delivers the spec the activity was started with to {@code listener}, or {@code null} if it can't
+     * be found. Delivered right away unless it has to be restored from disk, in which case it's delivered
+     * later on the UI thread, and not at all if a newer spec was attached to {@code intent} meanwhile.
+     * Must be called on the UI thread.
+     */
+    public void get(Context context, final Intent intent, final OnLaunchSpecListener listener) {
+        final String token = intent.getStringExtra(EXTRA_LAUNCH_TOKEN);
+        if (token == null) {
+            listener.onLaunchSpec(null);
+            return;
+        }
+
+        synchronized (this) {
+            if (token.equals(mToken)) {
+                listener.onLaunchSpec(mSpec);
+                return;
+            }
+        }
+
+        // The process was recreated, restore the spec from disk
+        final Context appContext = context.getApplicationContext();
+        AsyncTask.THREAD_POOL_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                final LaunchSpec restored = restore(appContext, token);
+                if (restored != null) {
+                    onRestored(token, restored);
+                }
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (token.equals(intent.getStringExtra(EXTRA_LAUNCH_TOKEN))) {
+                            listener.onLaunchSpec(restored);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Reads the last persisted spec, regardless of which activity it was attached to, in the background
+     * and delivers it to {@code listener} on the UI thread, or {@code null} if there's none.
+     */
+    public void loadSnapshot(Context context, final OnLaunchSpecListener listener) {
+        final Context appContext = context.getApplicationContext();
+        AsyncTask.THREAD_POOL_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                final LaunchSpec snapshot = restore(appContext, null);
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onLaunchSpec(snapshot);
+                    }
+                });
+            }
+        });
+    }
+
+    private synchronized void onRestored(String token, LaunchSpec spec) {
+        // Keep a spec registered since the process was recreated
+        if (mToken == null) {
+            mToken = token;
+            mSpec = spec;
+        }
+    }
+
+    private void persist(Context context, String token) {
+        LaunchSpec spec;
+        synchronized (this) {
+            // A newer spec was registered in the meantime, it'll be persisted by its own task
+            if (!token.equals(mToken)) {
+                return;
+            }
+            spec = mSpec;
+        }
+
+        DataOutputStream out = null;
+        try {
+            // Screens and drawers are Parcelable, marshalling them here keeps it off the start-up path
+            byte[] data = marshall(spec);
+            synchronized (PERSISTED_SPEC_FILE) {
+                File tmp = new File(context.getFilesDir(), PERSISTED_SPEC_FILE + ".tmp");
+                out = new DataOutputStream(new FileOutputStream(tmp));
+                out.writeLong(getInstallVersion(context));
+                out.writeUTF(token);
+                out.writeInt(data.length);
+                out.write(data);
+                out.close();
+                out = null;
+                if (!tmp.renameTo(new File(context.getFilesDir(), PERSISTED_SPEC_FILE))) {
+                    tmp.delete();
+                }
+            }
+        } catch (Exception e) {
+            Log.w(TAG, "Could not persist launch spec", e);
+        } finally {
+            closeQuietly(out);
+        }
+    }
+
+    private static byte[] marshall(LaunchSpec spec) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            parcel.writeParcelable(spec, 0);
+            return parcel.marshall();
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    /**
+     * @param token The token the spec was attached with, or {@code null} to accept any
+     */
+    @Nullable
+    private LaunchSpec restore(Context context, @Nullable String token) {
+        File file = new File(context.getFilesDir(), PERSISTED_SPEC_FILE);
+        if (!file.exists()) {
+            return null;
+        }
+
+        DataInputStream in = null;
+        Parcel parcel = Parcel.obtain();
+        try {
+            synchronized (PERSISTED_SPEC_FILE) {
+                in = new DataInputStream(new FileInputStream(file));
+                // Parcels are only readable by the same install of the app which wrote them
+                if (in.readLong() != getInstallVersion(context)) {
+                    return null;
+                }
+                String persistedToken = in.readUTF();
+                if (token != null && !token.equals(persistedToken)) {
+                    return null;
+                }
+                byte[] data = new byte[in.readInt()];
+                in.readFully(data);
+                parcel.unmarshall(data, 0, data.length);
+                parcel.setDataPosition(0);
+                return parcel.readParcelable(LaunchSpec.class.getClassLoader());
+            }
+        } catch (Exception e) {
+            Log.w(TAG, "Could not restore launch spec", e);
+            return null;
+        } finally {
+            parcel.recycle();
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException e) {
+                    // Ignore
+                }
+            }
+        }
+    }
+
+    /**
+     * Changes whenever the app is installed or updated.
+     */
+    private static long getInstallVersion(Context context) throws PackageManager.NameNotFoundException {
+        return context.getPackageManager().getPackageInfo(context.getPackageName(), 0).lastUpdateTime;
+    }
+
+    private static void closeQuietly(DataOutputStream out) {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                // Ignore
+            }
+        }
+    }
+}
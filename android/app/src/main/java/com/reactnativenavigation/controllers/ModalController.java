@@ -6,10 +6,14 @@ import com.reactnativenavigation.modal.RnnModal;
 import com.reactnativenavigation.utils.RefUtils;
 
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Stack;
 
 /**
  * Created by guyc on 06/05/16.
+ * <p>Keeps the displayed modals, top modal last. Must only be used on the UI thread.
  */
 public class ModalController {
     private static ModalController sInstance;
@@ -29,10 +33,12 @@ public class ModalController {
     }
 
     public void add(RnnModal modal) {
+        pruneClearedModals();
         mModals.add(new WeakReference<>(modal));
     }
 
     public boolean isModalDisplayed() {
+        pruneClearedModals();
         return mModals.size() != 0;
     }
 
@@ -41,23 +47,60 @@ public class ModalController {
         return isModalDisplayed() ? RefUtils.get(mModals.peek()) : null;
     }
 
-    public void remove() {
-        if (isModalDisplayed()) {
-            mModals.pop();
+    /**
+     * Removes {@code modal} once it was dismissed, wherever it is in the stack.
+     */
+    public void remove(RnnModal modal) {
+        Iterator<WeakReference<RnnModal>> iterator = mModals.iterator();
+        while (iterator.hasNext()) {
+            RnnModal current = RefUtils.get(iterator.next());
+            if (current == null || current == modal) {
+                iterator.remove();
+            }
         }
     }
 
+    /**
+     * Dismisses all modals at once. Only the top modal runs its exit animation, the ones below it are
+     * dismissed without animation. Their screens are unmounted once the UI thread is idle.
+     */
     public void dismissAllModals() {
-        while (isModalDisplayed()) {
-            dismissModal();
+        RnnModal top = null;
+        List<RnnModal> covered = new ArrayList<>();
+        while (!mModals.isEmpty()) {
+            RnnModal modal = RefUtils.get(mModals.pop());
+            if (modal == null) {
+                continue;
+            }
+            if (top == null) {
+                top = modal;
+            } else {
+                covered.add(modal);
+            }
+        }
+
+        // Hidden below the top modal, so removing their windows first isn't visible
+        for (RnnModal modal : covered) {
+            modal.dismissWithoutAnimation();
+        }
+        if (top != null) {
+            top.dismiss();
         }
     }
 
     public void dismissModal() {
-        WeakReference<RnnModal> ref = mModals.pop();
-        RnnModal modal = RefUtils.get(ref);
-        if (modal != null) {
-            modal.dismiss();
+        while (!mModals.isEmpty()) {
+            RnnModal modal = RefUtils.get(mModals.pop());
+            if (modal != null) {
+                modal.dismiss();
+                return;
+            }
+        }
+    }
+
+    private void pruneClearedModals() {
+        while (!mModals.isEmpty() && RefUtils.get(mModals.peek()) == null) {
+            mModals.pop();
         }
     }
 }
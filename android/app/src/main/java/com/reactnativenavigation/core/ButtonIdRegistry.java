@@ -0,0 +1,78 @@
+package com.reactnativenavigation.core;
+
+import android.support.annotation.Nullable;
+import android.util.SparseArray;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps the string ids of toolbar buttons, defined in JS, to the numeric ids of their menu items and back.
+ * Registrations belong to the screen displaying the buttons and are released when it's removed.
+ */
+public class ButtonIdRegistry {
+    public static final int NO_ID = -1;
+    private static ButtonIdRegistry sInstance;
+
+    private final Map<String, Map<String, Integer>> mScopes = new HashMap<>();
+    private final SparseArray<String> mButtonIds = new SparseArray<>();
+    private int mNextItemId = 1;
+
+    private ButtonIdRegistry() {
+        // Singleton
+    }
+
+    public static synchronized ButtonIdRegistry getInstance() {
+        if (sInstance == null) {
+            sInstance = new ButtonIdRegistry();
+        }
+        return sInstance;
+    }
+
+    /**
+     * Returns the menu item id of the button, registering it if needed.
+     * @param scope The screenInstanceID of the screen the button belongs to
+     */
+    public synchronized int getItemId(String scope, String buttonId) {
+        Map<String, Integer> scopeIds = mScopes.get(scope);
+        if (scopeIds == null) {
+            scopeIds = new HashMap<>();
+            mScopes.put(scope, scopeIds);
+        }
+
+        Integer itemId = scopeIds.get(buttonId);
+        if (itemId == null) {
+            itemId = mNextItemId++;
+            scopeIds.put(buttonId, itemId);
+            mButtonIds.put(itemId, buttonId);
+        }
+        return itemId;
+    }
+
+    /**
+     * Returns the menu item id of the button without registering it, or {@link #NO_ID}.
+     */
+    public synchronized int findItemId(String scope, String buttonId) {
+        Map<String, Integer> scopeIds = mScopes.get(scope);
+        Integer itemId = scopeIds != null ? scopeIds.get(buttonId) : null;
+        return itemId != null ? itemId : NO_ID;
+    }
+
+    @Nullable
+    public synchronized String getButtonId(int itemId) {
+        return mButtonIds.get(itemId);
+    }
+
+    /**
+     * Releases the ids registered by the screen, once it's no longer displayed.
+     */
+    public synchronized void release(@Nullable String scope) {
+        Map<String, Integer> scopeIds = scope != null ? mScopes.remove(scope) : null;
+        if (scopeIds == null) {
+            return;
+        }
+        for (int itemId : scopeIds.values()) {
+            mButtonIds.remove(itemId);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.reactnativenavigation.core;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.Nullable;
+import android.util.Log;
+import android.view.Choreographer;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.facebook.react.modules.core.DeviceEventManagerModule.RCTDeviceEventEmitter;
+
+/**
+ * Queues the events sent by {@link RctManager} and emits them once per frame. When more than one event
+ * is pending they're emitted as a single {@link #BATCH_EVENT_NAME} event, which is unpacked on the JS
+ * side, so a burst of navigation costs one bridge message.
+ * <p>State-like events can be coalesced with {@link #setCoalescingRule}, in which case a pending event
+ * is replaced by a newer one of the same group.
+ * <p>Events given a policy with {@link #setDeferralPolicy} are held back while the screen they're sent
+ * to isn't visible, and delivered once it appears.
+ */
+public class EventDispatcher implements Choreographer.FrameCallback {
+    private static final String TAG = "EventDispatcher";
+    public static final String BATCH_EVENT_NAME = "RNN.eventBatch";
+    public static final int MAX_DEFERRED_EVENTS_PER_SCREEN = 32;
+    private static final String KEY_TARGET = "target";
+    private static final String KEY_PARAMS = "params";
+
+    private static final Map<String, CoalescingRule> sCoalescingRules = new HashMap<>();
+    // Event id to whether only the latest deferred event of that id is kept
+    private static final Map<String, Boolean> sDeferralPolicies = new HashMap<>();
+
+    private final RctManager mRctManager;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private final List<PendingEvent> mPendingEvents = new ArrayList<>();
+    private boolean mFrameScheduled;
+    private final Set<String> mVisibleTargets = new HashSet<>();
+    private final Map<String, LinkedList<PendingEvent>> mDeferredEvents = new HashMap<>();
+    private int mDroppedEventCount;
+
+    private final Runnable mScheduleFrame = new Runnable() {
+        @Override
+        public void run() {
+            Choreographer.getInstance().postFrameCallback(EventDispatcher.this);
+        }
+    };
+
+    private static class CoalescingRule {
+        final String group;
+        final boolean acrossTargets;
+
+        CoalescingRule(String group, boolean acrossTargets) {
+            this.group = group;
+            this.acrossTargets = acrossTargets;
+        }
+    }
+
+    private static class PendingEvent {
+        final String target;
+        final String eventId;
+        final WritableMap params;
+        @Nullable final CoalescingRule rule;
+
+        PendingEvent(String target, String eventId, WritableMap params, @Nullable CoalescingRule rule) {
+            this.target = target;
+            this.eventId = eventId;
+            this.params = params;
+            this.rule = rule;
+        }
+
+        boolean isReplacedBy(PendingEvent event) {
+            return rule != null && rule == event.rule &&
+                   (rule.acrossTargets || target.equals(event.target));
+        }
+    }
+
+    /**
+     * Only the latest pending event of {@code group} is emitted.
+     * @param eventId The id of the event, as passed to {@link RctManager#sendEvent}
+     * @param acrossTargets Whether events of the group sent to different screens replace each other,
+     *                      such as selecting several tabs in a row. Otherwise only events sent to the
+     *                      same screen are coalesced.
+     */
+    public static void setCoalescingRule(String eventId, String group, boolean acrossTargets) {
+        synchronized (sCoalescingRules) {
+            for (Map.Entry<String, CoalescingRule> entry : sCoalescingRules.entrySet()) {
+                if (entry.getValue().group.equals(group)) {
+                    // Events of a group share the rule, that's what they're compared by
+                    sCoalescingRules.put(eventId, entry.getValue());
+                    return;
+                }
+            }
+            sCoalescingRules.put(eventId, new CoalescingRule(group, acrossTargets));
+        }
+    }
+
+    /**
+     * Holds back events of {@code eventId} sent to screens which aren't visible, such as screens in other
+     * tabs or below the top of their stack, until they appear. At most
+     * {@link #MAX_DEFERRED_EVENTS_PER_SCREEN} events are held per screen, older ones are dropped.
+     * @param collapseToLatest Whether only the latest held event of {@code eventId} is delivered
+     */
+    public static void setDeferralPolicy(String eventId, boolean collapseToLatest) {
+        synchronized (sDeferralPolicies) {
+            sDeferralPolicies.put(eventId, collapseToLatest);
+        }
+    }
+
+    public static void removeDeferralPolicy(String eventId) {
+        synchronized (sDeferralPolicies) {
+            sDeferralPolicies.remove(eventId);
+        }
+    }
+
+    EventDispatcher(RctManager rctManager) {
+        mRctManager = rctManager;
+    }
+
+    /**
+     * @param target The name JS listens to, either a screen's navigatorEventId or a global event name
+     * @param eventId Used to look up the event's coalescing rule and deferral policy
+     * @param deferrable Whether the event is addressed to a screen, and may be held back while it's hidden
+     */
+    void dispatch(String target, String eventId, WritableMap params, boolean deferrable) {
+        CoalescingRule rule;
+        synchronized (sCoalescingRules) {
+            rule = sCoalescingRules.get(eventId);
+        }
+        Boolean collapseToLatest = null;
+        if (deferrable) {
+            synchronized (sDeferralPolicies) {
+                collapseToLatest = sDeferralPolicies.get(eventId);
+            }
+        }
+        PendingEvent event = new PendingEvent(target, eventId, params, rule);
+
+        synchronized (mPendingEvents) {
+            if (collapseToLatest != null && !mVisibleTargets.contains(target)) {
+                defer(event, collapseToLatest);
+            } else {
+                enqueue(event);
+            }
+        }
+    }
+
+    private void defer(PendingEvent event, boolean collapseToLatest) {
+        LinkedList<PendingEvent> deferred = mDeferredEvents.get(event.target);
+        if (deferred == null) {
+            deferred = new LinkedList<>();
+            mDeferredEvents.put(event.target, deferred);
+        }
+
+        if (collapseToLatest) {
+            Iterator<PendingEvent> iterator = deferred.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().eventId.equals(event.eventId)) {
+                    iterator.remove();
+                }
+            }
+        }
+        deferred.add(event);
+
+        if (deferred.size() > MAX_DEFERRED_EVENTS_PER_SCREEN) {
+            PendingEvent dropped = deferred.removeFirst();
+            mDroppedEventCount++;
+            Log.w(TAG, "Too many events held for hidden screen " + event.target + ", dropped " + dropped.eventId);
+        }
+    }
+
+    /**
+     * Called when the screen {@code target} is addressed by becomes visible or hidden. Events held back
+     * for it are delivered once it's visible.
+     */
+    void setTargetVisible(String target, boolean visible) {
+        synchronized (mPendingEvents) {
+            if (!visible) {
+                mVisibleTargets.remove(target);
+                return;
+            }
+
+            mVisibleTargets.add(target);
+            LinkedList<PendingEvent> deferred = mDeferredEvents.remove(target);
+            if (deferred != null) {
+                for (PendingEvent event : deferred) {
+                    enqueue(event);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the events held back for a screen which was removed.
+     */
+    void removeTarget(String target) {
+        synchronized (mPendingEvents) {
+            mVisibleTargets.remove(target);
+            mDeferredEvents.remove(target);
+        }
+    }
+
+    void clearDeferredEvents() {
+        synchronized (mPendingEvents) {
+            mDeferredEvents.clear();
+        }
+    }
+
+    /**
+     * Returns the number of events currently held back for hidden screens.
+     */
+    public int getDeferredEventCount() {
+        synchronized (mPendingEvents) {
+            int count = 0;
+            for (LinkedList<PendingEvent> deferred : mDeferredEvents.values()) {
+                count += deferred.size();
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Returns the number of held back events which were dropped since a screen's queue was full.
+     */
+    public int getDroppedEventCount() {
+        synchronized (mPendingEvents) {
+            return mDroppedEventCount;
+        }
+    }
+
+    /**
+     * Adds {@code event} to the events emitted on the next frame. Must hold the lock on mPendingEvents.
+     */
+    private void enqueue(PendingEvent event) {
+        if (event.rule != null) {
+            Iterator<PendingEvent> iterator = mPendingEvents.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().isReplacedBy(event)) {
+                    iterator.remove();
+                }
+            }
+        }
+        mPendingEvents.add(event);
+
+        if (!mFrameScheduled) {
+            mFrameScheduled = true;
+            if (Looper.myLooper() == Looper.getMainLooper()) {
+                mScheduleFrame.run();
+            } else {
+                mMainHandler.post(mScheduleFrame);
+            }
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        List<PendingEvent> events;
+        synchronized (mPendingEvents) {
+            mFrameScheduled = false;
+            events = new ArrayList<>(mPendingEvents);
+            mPendingEvents.clear();
+        }
+
+        RCTDeviceEventEmitter eventEmitter = mRctManager.getEventEmitter();
+        if (eventEmitter == null || events.isEmpty()) {
+            return;
+        }
+
+        if (events.size() == 1) {
+            eventEmitter.emit(events.get(0).target, events.get(0).params);
+            return;
+        }
+
+        WritableArray batch = Arguments.createArray();
+        for (PendingEvent event : events) {
+            WritableMap entry = Arguments.createMap();
+            entry.putString(KEY_TARGET, event.target);
+            entry.putMap(KEY_PARAMS, event.params);
+            batch.pushMap(entry);
+        }
+        eventEmitter.emit(BATCH_EVENT_NAME, batch);
+    }
+}
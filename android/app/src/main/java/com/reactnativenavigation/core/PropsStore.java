@@ -0,0 +1,102 @@
+package com.reactnativenavigation.core;
+
+import android.os.Bundle;
+import android.support.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds large props payloads registered once from JS, which screens reference by key instead of
+ * sending them over the bridge with every push. A payload is kept while it's registered, and after it
+ * was unregistered, until the last screen referencing it is removed from its
+ * {@link com.reactnativenavigation.views.ScreenStack}.
+ * <p>Payloads live in memory only, screens restored after the process was killed won't receive them.
+ */
+public class PropsStore {
+    private static PropsStore sInstance;
+
+    private final Map<String, Entry> mEntries = new HashMap<>();
+
+    private static class Entry {
+        final Bundle props;
+        // Screens referencing the payload, the registration from JS holds the payload on its own
+        int screenCount;
+        boolean registered = true;
+
+        Entry(Bundle props) {
+            this.props = props;
+        }
+
+        boolean isReleased() {
+            return !registered && screenCount <= 0;
+        }
+    }
+
+    private PropsStore() {
+        // Singleton
+    }
+
+    public static synchronized PropsStore getInstance() {
+        if (sInstance == null) {
+            sInstance = new PropsStore();
+        }
+        return sInstance;
+    }
+
+    /**
+     * Registers a payload under {@code key}, replacing the previous one. Screens which are already
+     * displayed keep the props they were mounted with.
+     */
+    public synchronized void register(String key, Bundle props) {
+        Entry entry = new Entry(props);
+        Entry previous = mEntries.put(key, entry);
+        if (previous != null) {
+            entry.screenCount = previous.screenCount;
+        }
+    }
+
+    /**
+     * Removes a payload which is no longer needed by JS, once no displayed screen references it.
+     */
+    public synchronized void unregister(String key) {
+        Entry entry = mEntries.get(key);
+        if (entry != null) {
+            entry.registered = false;
+            if (entry.isReleased()) {
+                mEntries.remove(key);
+            }
+        }
+    }
+
+    @Nullable
+    public synchronized Bundle get(@Nullable String key) {
+        Entry entry = key != null ? mEntries.get(key) : null;
+        return entry != null ? entry.props : null;
+    }
+
+    public synchronized void retain(@Nullable String key) {
+        Entry entry = key != null ? mEntries.get(key) : null;
+        if (entry != null) {
+            entry.screenCount++;
+        }
+    }
+
+    public synchronized void release(@Nullable String key) {
+        Entry entry = key != null ? mEntries.get(key) : null;
+        if (entry != null) {
+            entry.screenCount--;
+            if (entry.isReleased()) {
+                mEntries.remove(key);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return mEntries.size();
+    }
+
+    public synchronized void clear() {
+        mEntries.clear();
+    }
+}
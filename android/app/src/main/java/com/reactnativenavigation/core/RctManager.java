@@ -15,7 +15,9 @@ import com.facebook.react.devsupport.ReactInstanceDevCommandsHandler;
 import com.reactnativenavigation.activities.BaseReactActivity;
 import com.reactnativenavigation.core.objects.Screen;
 import com.reactnativenavigation.utils.ContextProvider;
+import com.reactnativenavigation.utils.IconManifest;
 import com.reactnativenavigation.utils.ReflectionUtils;
+import com.reactnativenavigation.utils.StartupTracer;
 
 import static com.facebook.react.modules.core.DeviceEventManagerModule.RCTDeviceEventEmitter;
 
@@ -28,8 +30,14 @@ public class RctManager {
     private static final String KEY_EVENT_TYPE = "type";
     private static final String EVENT_TYPE = "NavBarButtonPress";
     private static RctManager sInstance;
+    // Outlives the instance, which is recreated when an activity is started after the last one was destroyed
+    private static ReactInstanceConfig sApplicationConfig;
 
     private ReactInstanceManager mReactManager;
+    private final EventDispatcher mEventDispatcher = new EventDispatcher(this);
+    // Cached along with the context it belongs to, and dropped when the context is recreated
+    private RCTDeviceEventEmitter mEventEmitter;
+    private ReactContext mEventEmitterContext;
 
     private RctManager() {
         // Singleton
@@ -51,35 +59,71 @@ public class RctManager {
     }
 
     public void init(BaseReactActivity context) {
-        createReactInstanceManager(context);
+        if (sApplicationConfig != null) {
+            createReactInstanceManager((Application) context.getApplicationContext(), sApplicationConfig);
+        } else {
+            createReactInstanceManager(context);
+        }
     }
 
     /**
-     * Creates a React Instance Manager associated with this component name
+     * Creates the React instance from {@link Application#onCreate()} and starts loading the JS bundle
+     * right away, so it overlaps with the creation of the first activity instead of following it.
+     * The configuration overrides of {@link BaseReactActivity} are then ignored in favour of {@code config}.
+     * Must be called on the UI thread.
      */
+    public void initFromApplication(Application application, ReactInstanceConfig config) {
+        sApplicationConfig = config;
+        if (isInitialized()) {
+            return;
+        }
+        createReactInstanceManager(application, config);
+        mReactManager.createReactContextInBackground();
+        // Decode the icons used in the previous run while the JS bundle is loading
+        IconManifest.getInstance(application).warmUp(application);
+    }
+
     public ReactInstanceManager createReactInstanceManager(BaseReactActivity reactActivity) {
+        return createReactInstanceManager((Application) reactActivity.getApplicationContext(), reactActivity);
+    }
+
+    /**
+     * Creates a React Instance Manager configured by {@code config}
+     */
+    public ReactInstanceManager createReactInstanceManager(Application application, ReactInstanceConfig config) {
+        StartupTracer.mark(StartupTracer.INSTANCE_MANAGER_CREATE_START);
         ReactInstanceManager.Builder builder = ReactInstanceManager.builder()
-                .setApplication((Application) reactActivity.getApplicationContext())
-                .setJSMainModuleName(reactActivity.getJSMainModuleName())
-                .setUseDeveloperSupport(reactActivity.getUseDeveloperSupport())
+                .setApplication(application)
+                .setJSMainModuleName(config.getJSMainModuleName())
+                .setUseDeveloperSupport(config.getUseDeveloperSupport())
                 .setInitialLifecycleState(LifecycleState.BEFORE_RESUME);
 
-        for (ReactPackage reactPackage : reactActivity.getPackages()) {
+        for (ReactPackage reactPackage : config.getPackages()) {
             builder.addPackage(reactPackage);
         }
 
-        String jsBundleFile = reactActivity.getJSBundleFile();
+        String jsBundleFile = config.getJSBundleFile();
 
         if (jsBundleFile != null) {
             builder.setJSBundleFile(jsBundleFile);
         } else {
-            builder.setBundleAssetName(reactActivity.getBundleAssetName());
+            builder.setBundleAssetName(config.getBundleAssetName());
         }
 
         mReactManager = builder.build();
-        if (reactActivity.getUseDeveloperSupport()) {
+        if (config.getUseDeveloperSupport()) {
             setupDevSupportHandler(mReactManager);
         }
+        mReactManager.addReactInstanceEventListener(new ReactInstanceManager.ReactInstanceEventListener() {
+            @Override
+            public void onReactContextInitialized(ReactContext context) {
+                StartupTracer.mark(StartupTracer.REACT_CONTEXT_CREATED);
+                clearEventEmitter();
+                // Held back events were addressed to screens of the previous context
+                mEventDispatcher.clearDeferredEvents();
+            }
+        });
+        StartupTracer.mark(StartupTracer.INSTANCE_MANAGER_CREATE_END);
         return mReactManager;
     }
 
@@ -118,6 +162,22 @@ public class RctManager {
         }
     }
 
+    public EventDispatcher getEventDispatcher() {
+        return mEventDispatcher;
+    }
+
+    /**
+     * Delivers the events held back for {@code screen} once it's visible, see
+     * {@link EventDispatcher#setDeferralPolicy}.
+     */
+    public void onScreenVisibilityChanged(Screen screen, boolean visible) {
+        mEventDispatcher.setTargetVisible(screen.navigatorEventId, visible);
+    }
+
+    public void onScreenRemoved(Screen screen) {
+        mEventDispatcher.removeTarget(screen.navigatorEventId);
+    }
+
     public <T extends ReactContextBaseJavaModule> T getNativeModule(Class<T> nativeModuleClass) {
         if (mReactManager == null || mReactManager.getCurrentReactContext() == null) {
             return null;
@@ -127,24 +187,42 @@ public class RctManager {
     }
 
     /**
-     * Sends an event to JavaScript using <a href="https://facebook.github.io/react-native/docs/native-modules-android.html#sending-events-to-javascript">RCTDeviceEventEmitter</a>
+     * Sends an event to JavaScript using <a href="https://facebook.github.io/react-native/docs/native-modules-android.html#sending-events-to-javascript">RCTDeviceEventEmitter</a>.
+     * Events are delivered on the next frame, see {@link EventDispatcher}.
      * @param eventName Name of the event
      * @param params Event params
      * @param screen screen which should receive the event
      */
     public void sendEvent(String eventName, Screen screen, WritableMap params) {
-        RCTDeviceEventEmitter eventEmitter = getEventEmitter();
-        if (eventEmitter == null) {
+        sendEvent(EVENT_TYPE, eventName, screen, params);
+    }
+
+    /**
+     * Sends an event of {@code eventType} to {@code screen}, see {@link #sendEvent(String, Screen, WritableMap)}
+     */
+    public void sendEvent(String eventType, String eventName, Screen screen, WritableMap params) {
+        if (mReactManager == null || mReactManager.getCurrentReactContext() == null) {
             return;
         }
 
-        params.putString(KEY_EVENT_TYPE, EVENT_TYPE);
+        params.putString(KEY_EVENT_TYPE, eventType);
         params.putString(KEY_EVENT_ID, eventName);
         params.putString(Screen.KEY_NAVIGATOR_EVENT_ID, screen.navigatorEventId);
-        eventEmitter.emit(screen.navigatorEventId, params);
+        mEventDispatcher.dispatch(screen.navigatorEventId, eventName, params, true);
     }
 
-    private RCTDeviceEventEmitter getEventEmitter() {
+    /**
+     * Sends an event to JavaScript which isn't addressed to a specific screen
+     * @param eventName Name of the event
+     * @param params Event params
+     */
+    public void sendGlobalEvent(String eventName, WritableMap params) {
+        if (mReactManager != null && mReactManager.getCurrentReactContext() != null) {
+            mEventDispatcher.dispatch(eventName, eventName, params, false);
+        }
+    }
+
+    synchronized RCTDeviceEventEmitter getEventEmitter() {
         if (mReactManager == null) {
             return null;
         }
@@ -154,10 +232,20 @@ public class RctManager {
             return null;
         }
 
-        return currentReactContext.getJSModule(RCTDeviceEventEmitter.class);
+        if (mEventEmitter == null || mEventEmitterContext != currentReactContext) {
+            mEventEmitter = currentReactContext.getJSModule(RCTDeviceEventEmitter.class);
+            mEventEmitterContext = currentReactContext;
+        }
+        return mEventEmitter;
+    }
+
+    private synchronized void clearEventEmitter() {
+        mEventEmitter = null;
+        mEventEmitterContext = null;
     }
 
     public void onDestroy() {
+        clearEventEmitter();
         mReactManager = null;
         sInstance = null;
     }
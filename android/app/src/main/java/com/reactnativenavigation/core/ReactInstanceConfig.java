@@ -0,0 +1,35 @@
+package com.reactnativenavigation.core;
+
+import android.support.annotation.Nullable;
+
+import com.facebook.react.ReactPackage;
+
+import java.util.List;
+
+/**
+ * Configuration the {@link com.facebook.react.ReactInstanceManager} is created with. Implemented by
+ * {@link com.reactnativenavigation.activities.BaseReactActivity}, or by the app when the instance is
+ * created from its Application, see {@link RctManager#initFromApplication}.
+ */
+public interface ReactInstanceConfig {
+    /**
+     * e.g. "index.android"
+     */
+    String getJSMainModuleName();
+
+    boolean getUseDeveloperSupport();
+
+    List<ReactPackage> getPackages();
+
+    /**
+     * Path of the bundle file, or {@code null} to load it from {@link #getBundleAssetName()}.
+     */
+    @Nullable
+    String getJSBundleFile();
+
+    /**
+     * e.g. "index.android.bundle"
+     */
+    @Nullable
+    String getBundleAssetName();
+}
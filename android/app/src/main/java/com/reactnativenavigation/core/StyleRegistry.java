@@ -0,0 +1,62 @@
+package com.reactnativenavigation.core;
+
+import android.support.annotation.Nullable;
+
+import com.reactnativenavigation.core.objects.ScreenStyle;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Holds the style templates registered from JS, and interns {@link ScreenStyle}s so that equal styles
+ * are shared by all the screens using them.
+ */
+public class StyleRegistry {
+    private static StyleRegistry sInstance;
+
+    private final Map<String, ScreenStyle> mTemplates = new HashMap<>();
+    private final WeakHashMap<ScreenStyle, WeakReference<ScreenStyle>> mInterned = new WeakHashMap<>();
+
+    private StyleRegistry() {
+        intern(ScreenStyle.EMPTY);
+    }
+
+    public static synchronized StyleRegistry getInstance() {
+        if (sInstance == null) {
+            sInstance = new StyleRegistry();
+        }
+        return sInstance;
+    }
+
+    /**
+     * Registers {@code style} as the template named {@code name}, replacing the previous one.
+     * Screens which were already created keep their style.
+     */
+    public synchronized void register(String name, ScreenStyle style) {
+        mTemplates.put(name, intern(style));
+    }
+
+    @Nullable
+    public synchronized ScreenStyle getTemplate(@Nullable String name) {
+        return name != null ? mTemplates.get(name) : null;
+    }
+
+    /**
+     * Returns the canonical instance equal to {@code style}. Unused instances are garbage collected.
+     */
+    public synchronized ScreenStyle intern(ScreenStyle style) {
+        WeakReference<ScreenStyle> ref = mInterned.get(style);
+        ScreenStyle interned = ref != null ? ref.get() : null;
+        if (interned == null) {
+            mInterned.put(style, new WeakReference<>(style));
+            interned = style;
+        }
+        return interned;
+    }
+
+    public synchronized void clearTemplates() {
+        mTemplates.clear();
+    }
+}
@@ -2,22 +2,21 @@ package com.reactnativenavigation.core.objects;
 
 import android.content.Context;
 import android.graphics.drawable.Drawable;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.support.annotation.ColorInt;
+import android.support.annotation.Nullable;
 import android.view.MenuItem;
 
 import com.facebook.react.bridge.ReadableMap;
+import com.reactnativenavigation.core.ButtonIdRegistry;
+import com.reactnativenavigation.utils.IconLoader;
 import com.reactnativenavigation.utils.IconUtils;
 
-import java.io.Serializable;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
-
 /**
  * Created by guyc on 08/04/16.
  */
-public class Button extends JsonObject implements Serializable {
-    private static final long serialVersionUID = -570145217281069067L;
-
+public class Button extends JsonObject implements Parcelable {
     private static final String KEY_ID = "id";
     private static final String KEY_TITLE = "title";
     private static final String KEY_ICON = "icon";
@@ -29,11 +28,11 @@ public class Button extends JsonObject implements Serializable {
     private String mIconSource;
     public boolean disabled;
     public String showAsAction;
+    // screenInstanceID of the screen displaying the button
+    private final String mScope;
 
-    private static final AtomicInteger sAtomicIdGenerator = new AtomicInteger();
-    private static final Map<String, Integer> sStringToNumericId = new HashMap<>();
-
-    public Button(ReadableMap button) {
+    public Button(ReadableMap button, String scope) {
+        mScope = scope;
         id = getString(button, KEY_ID);
         title = getString(button, KEY_TITLE, "");
         mIconSource = getString(button, KEY_ICON);
@@ -41,6 +40,15 @@ public class Button extends JsonObject implements Serializable {
         showAsAction = getString(button, KEY_SHOW_AS_ACTION, "");
     }
 
+    protected Button(Parcel in) {
+        id = in.readString();
+        title = in.readString();
+        mIconSource = in.readString();
+        disabled = in.readByte() != 0;
+        showAsAction = in.readString();
+        mScope = in.readString();
+    }
+
     public boolean hasIcon() {
         return mIconSource != null;
     }
@@ -49,17 +57,37 @@ public class Button extends JsonObject implements Serializable {
      * @param dimensions The requested icon dimensions
      */
     public Drawable getIcon(Context ctx, int dimensions) {
-       return IconUtils.getIcon(ctx, mIconSource, dimensions);
+       return getIcon(ctx, dimensions, null);
+    }
+
+    /**
+     * @param dimensions The requested icon dimensions
+     * @param tint Optional color the icon is tinted with
+     */
+    public Drawable getIcon(Context ctx, int dimensions, @Nullable @ColorInt Integer tint) {
+       return IconUtils.getIcon(ctx, mIconSource, dimensions, tint);
+    }
+
+    /**
+     * Loads the icon in the background and delivers it to {@code listener} on the UI thread.
+     * @param dimensions The requested icon dimensions
+     * @param tint Optional color the icon is tinted with
+     */
+    public void loadIcon(Context ctx, int dimensions, @Nullable @ColorInt Integer tint,
+                         IconLoader.OnIconLoadedListener listener) {
+        IconLoader.load(ctx, mIconSource, dimensions, tint, listener);
     }
 
     public int getItemId() {
-        if (sStringToNumericId.containsKey(id)) {
-            return sStringToNumericId.get(id);
-        }
+        return ButtonIdRegistry.getInstance().getItemId(mScope, id);
+    }
 
-        int itemId = sAtomicIdGenerator.addAndGet(1);
-        sStringToNumericId.put(id, itemId);
-        return itemId;
+    /**
+     * @return The id of the menu item displaying this button, or {@link ButtonIdRegistry#NO_ID} if it was
+     * released or never displayed
+     */
+    public int findItemId() {
+        return ButtonIdRegistry.getInstance().findItemId(mScope, id);
     }
 
     /**
@@ -69,12 +97,33 @@ public class Button extends JsonObject implements Serializable {
      * @return Returns the event id associated with the given menu item
      */
     public static String getButtonEventId(MenuItem item) {
-        for (Map.Entry<String, Integer> entry : sStringToNumericId.entrySet()) {
-            if (entry.getValue() == item.getItemId()) {
-                return entry.getKey();
-            }
-        }
+        return ButtonIdRegistry.getInstance().getButtonId(item.getItemId());
+    }
 
-        return null;
+    @Override
+    public int describeContents() {
+        return 0;
     }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeString(id);
+        dest.writeString(title);
+        dest.writeString(mIconSource);
+        dest.writeByte((byte) (disabled ? 1 : 0));
+        dest.writeString(showAsAction);
+        dest.writeString(mScope);
+    }
+
+    public static final Creator<Button> CREATOR = new Creator<Button>() {
+        @Override
+        public Button createFromParcel(Parcel in) {
+            return new Button(in);
+        }
+
+        @Override
+        public Button[] newArray(int size) {
+            return new Button[size];
+        }
+    };
 }
@@ -1,12 +1,11 @@
 package com.reactnativenavigation.core.objects;
 
-import com.facebook.react.bridge.ReadableMap;
-
-import java.io.Serializable;
+import android.os.Parcel;
+import android.os.Parcelable;
 
-public class Drawer extends JsonObject implements Serializable {
-    private static final long serialVersionUID = 982836768712398756L;
+import com.facebook.react.bridge.ReadableMap;
 
+public class Drawer extends JsonObject implements Parcelable {
     private static final String KEY_LEFT = "left";
     private static final String KEY_RIGHT = "right";
     private static final String KEY_DISABLE_OPEN_GESTURE = "disableOpenGesture";
@@ -20,4 +19,34 @@ public class Drawer extends JsonObject implements Serializable {
         right = params.hasKey(KEY_RIGHT) ? new Screen(params.getMap(KEY_RIGHT)) : null;
         disableOpenGesture = getBoolean(params, KEY_DISABLE_OPEN_GESTURE);
     }
+
+    protected Drawer(Parcel in) {
+        left = in.readParcelable(Screen.class.getClassLoader());
+        right = in.readParcelable(Screen.class.getClassLoader());
+        disableOpenGesture = in.readByte() != 0;
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeParcelable(left, flags);
+        dest.writeParcelable(right, flags);
+        dest.writeByte((byte) (disableOpenGesture ? 1 : 0));
+    }
+
+    public static final Creator<Drawer> CREATOR = new Creator<Drawer>() {
+        @Override
+        public Drawer createFromParcel(Parcel in) {
+            return new Drawer(in);
+        }
+
+        @Override
+        public Drawer[] newArray(int size) {
+            return new Drawer[size];
+        }
+    };
 }
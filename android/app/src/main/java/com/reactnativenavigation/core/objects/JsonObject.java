@@ -1,6 +1,7 @@
 package com.reactnativenavigation.core.objects;
 
 import android.graphics.Color;
+import android.os.Parcel;
 
 import com.facebook.react.bridge.ReadableMap;
 
@@ -32,4 +33,24 @@ public class JsonObject {
     protected Boolean getBoolean(ReadableMap map, String key) {
         return map.hasKey(key) && map.getBoolean(key);
     }
+
+    protected static void writeNullableInt(Parcel dest, Integer value) {
+        dest.writeByte((byte) (value == null ? 0 : 1));
+        if (value != null) {
+            dest.writeInt(value);
+        }
+    }
+
+    protected static Integer readNullableInt(Parcel in) {
+        return in.readByte() == 0 ? null : in.readInt();
+    }
+
+    protected static void writeNullableBoolean(Parcel dest, Boolean value) {
+        dest.writeByte((byte) (value == null ? -1 : (value ? 1 : 0)));
+    }
+
+    protected static Boolean readNullableBoolean(Parcel in) {
+        byte value = in.readByte();
+        return value == -1 ? null : value == 1;
+    }
 }
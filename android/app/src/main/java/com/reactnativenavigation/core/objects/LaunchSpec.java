@@ -0,0 +1,79 @@
+package com.reactnativenavigation.core.objects;
+
+import android.os.Bundle;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.support.annotation.Nullable;
+import android.text.TextUtils;
+
+import java.util.ArrayList;
+
+/**
+ * The root layout an activity is started with: its screens, drawer and style, and whether the screens
+ * are displayed as tabs.
+ */
+public class LaunchSpec implements Parcelable {
+    public final ArrayList<Screen> screens;
+    @Nullable public final Drawer drawer;
+    public final Bundle style;
+    public final boolean tabBased;
+
+    public LaunchSpec(ArrayList<Screen> screens, @Nullable Drawer drawer, Bundle style, boolean tabBased) {
+        this.screens = screens;
+        this.drawer = drawer;
+        this.style = style;
+        this.tabBased = tabBased;
+    }
+
+    /**
+     * Returns whether both specs display the same screens, with the same labels and icons, in the same
+     * kind of layout. Screen instances, props and styles aren't compared.
+     */
+    public boolean hasSameStructure(LaunchSpec other) {
+        if (tabBased != other.tabBased || screens.size() != other.screens.size()) {
+            return false;
+        }
+        for (int i = 0; i < screens.size(); i++) {
+            Screen screen = screens.get(i);
+            Screen otherScreen = other.screens.get(i);
+            if (!TextUtils.equals(screen.screenId, otherScreen.screenId) ||
+                    !TextUtils.equals(screen.label, otherScreen.label) ||
+                    !TextUtils.equals(screen.icon, otherScreen.icon)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected LaunchSpec(Parcel in) {
+        screens = in.createTypedArrayList(Screen.CREATOR);
+        drawer = in.readParcelable(Drawer.class.getClassLoader());
+        style = in.readBundle(LaunchSpec.class.getClassLoader());
+        tabBased = in.readByte() != 0;
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeTypedList(screens);
+        dest.writeParcelable(drawer, flags);
+        dest.writeBundle(style);
+        dest.writeByte((byte) (tabBased ? 1 : 0));
+    }
+
+    public static final Creator<LaunchSpec> CREATOR = new Creator<LaunchSpec>() {
+        @Override
+        public LaunchSpec createFromParcel(Parcel in) {
+            return new LaunchSpec(in);
+        }
+
+        @Override
+        public LaunchSpec[] newArray(int size) {
+            return new LaunchSpec[size];
+        }
+    };
+}
@@ -2,27 +2,31 @@ package com.reactnativenavigation.core.objects;
 
 import android.content.Context;
 import android.graphics.drawable.Drawable;
-import android.support.annotation.ColorInt;
+import android.os.Bundle;
+import android.os.Parcel;
+import android.os.Parcelable;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.util.Log;
 
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
-import com.facebook.react.bridge.ReadableNativeMap;
+import com.reactnativenavigation.core.PropsStore;
+import com.reactnativenavigation.core.StyleRegistry;
+import com.reactnativenavigation.utils.BridgeUtils;
+import com.reactnativenavigation.utils.IconLoader;
 import com.reactnativenavigation.utils.IconUtils;
 
-import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Created by guyc on 02/04/16.
  */
-public class Screen extends JsonObject implements Serializable {
-    private static final long serialVersionUID = -1033475305421107791L;
-
+public class Screen extends JsonObject implements Parcelable {
+    private static final String TAG = "Screen";
     private static final String KEY_TITLE = "title";
     private static final String KEY_SCREEN = "screen";
     private static final String KEY_LABEL = "label";
@@ -33,18 +37,10 @@ public class Screen extends JsonObject implements Serializable {
     private static final String KEY_NAVIGATOR_BUTTONS = "navigatorButtons";
     private static final String KEY_RIGHT_BUTTONS = "rightButtons";
     private static final String KEY_TOOL_BAR_STYLE = "navigatorStyle";
-    private static final String KEY_STATUS_BAR_COLOR = "statusBarColor";
-    private static final String KEY_TOOL_BAR_COLOR = "navBarBackgroundColor";
-    private static final String KEY_TOOL_BAR_HIDDEN = "navBarHidden";
-    private static final String KEY_NAVIGATION_BAR_COLOR = "navigationBarColor";
-    private static final String KEY_NAV_BAR_BUTTON_COLOR = "navBarButtonColor";
-    private static final String KEY_NAV_BAR_TEXT_COLOR = "navBarTextColor";
+    private static final String KEY_STYLE_TEMPLATE = "navigatorStyleTemplate";
     private static final String KEY_BACK_BUTTON_HIDDEN = "backButtonHidden";
-    private static final String KEY_TAB_NORMAL_TEXT_COLOR = "tabNormalTextColor";
-    private static final String KEY_TAB_SELECTED_TEXT_COLOR = "tabSelectedTextColor";
-    private static final String KEY_TAB_INDICATOR_COLOR = "tabIndicatorColor";
-    private static final String KEY_BOTTOM_TABS_HIDDEN = "tabBarHidden";
     private static final String KEY_PROPS = "passProps";
+    private static final String KEY_PROPS_KEY = "passPropsKey";
 
     public String title;
     public final String label;
@@ -55,19 +51,18 @@ public class Screen extends JsonObject implements Serializable {
     public final String icon;
     public ArrayList<Button> buttons;
     public final boolean backButtonHidden;
-    public HashMap<String, Object> passedProps = new HashMap<>();
-
-    // Navigation styling
-    @Nullable @ColorInt public Integer toolBarColor;
-    @Nullable public Boolean toolBarHidden;
-    @Nullable @ColorInt public Integer statusBarColor;
-    @Nullable @ColorInt public Integer navigationBarColor;
-    @Nullable @ColorInt public Integer navBarButtonColor;
-    @Nullable @ColorInt public Integer navBarTextColor;
-    @Nullable @ColorInt public Integer tabNormalTextColor;
-    @Nullable @ColorInt public Integer tabSelectedTextColor;
-    @Nullable @ColorInt public Integer tabIndicatorColor;
-    public Boolean bottomTabsHidden;
+    public final String passPropsKey;
+    // Converted props, shared with screens pushed with the same props. Dropped once the screen has mounted
+    // and regenerated from the marshalled form if it's mounted again
+    private Bundle mPassedProps;
+    // Marshalled when the props are converted off the UI thread, or read as is when restored. May be shared
+    // with other screens as well
+    private final byte[] mCompactProps;
+    // Whether this screen holds a reference to its PropsStore payload
+    private final AtomicBoolean mPropsRetained = new AtomicBoolean();
+
+    // Navigation styling, shared with all screens which have the same style
+    @NonNull public final ScreenStyle style;
 
     @NonNull
     public List<Button> getButtons() {
@@ -83,11 +78,33 @@ public class Screen extends JsonObject implements Serializable {
         navigatorEventId = getString(screen, KEY_NAVIGATOR_EVENT_ID);
         icon = getString(screen, KEY_ICON);
         if(screen.hasKey(KEY_PROPS)) {
-            passedProps = ((ReadableNativeMap) screen.getMap(KEY_PROPS)).toHashMap();
+            BridgeUtils.Props props = BridgeUtils.toProps(screen.getMap(KEY_PROPS));
+            mPassedProps = props.bundle;
+            mCompactProps = props.marshalled;
+        } else {
+            mPassedProps = null;
+            mCompactProps = null;
         }
+        passPropsKey = getString(screen, KEY_PROPS_KEY);
         buttons = getButtons(screen);
         backButtonHidden = getBoolean(screen, KEY_BACK_BUTTON_HIDDEN);
-        setToolbarStyle(screen);
+        style = getStyle(screen);
+    }
+
+    protected Screen(Parcel in) {
+        title = in.readString();
+        label = in.readString();
+        screenId = in.readString();
+        screenInstanceId = in.readString();
+        navigatorId = in.readString();
+        navigatorEventId = in.readString();
+        icon = in.readString();
+        buttons = in.createTypedArrayList(Button.CREATOR);
+        backButtonHidden = in.readByte() != 0;
+        // Restored props stay compact until the screen is mounted
+        mCompactProps = in.createByteArray();
+        passPropsKey = in.readString();
+        style = in.readParcelable(ScreenStyle.class.getClassLoader());
     }
 
     public void setTitle(ReadableMap params) {
@@ -103,7 +120,7 @@ public class Screen extends JsonObject implements Serializable {
         if (hasButtons(screen)) {
             ReadableArray rightButtons = getRightButtons(screen);
             for (int i = 0; i < rightButtons.size(); i++) {
-                ret.add(new Button(rightButtons.getMap(i)));
+                ret.add(new Button(rightButtons.getMap(i), screenInstanceId));
             }
         }
         return ret;
@@ -122,19 +139,103 @@ public class Screen extends JsonObject implements Serializable {
         return IconUtils.getIcon(ctx, icon);
     }
 
-    public void setToolbarStyle(ReadableMap screen) {
-        ReadableMap style = getMap(screen, KEY_TOOL_BAR_STYLE);
-        if (style != null) {
-            toolBarColor = getColor(style, KEY_TOOL_BAR_COLOR);
-            toolBarHidden = getBoolean(style, KEY_TOOL_BAR_HIDDEN);
-            statusBarColor = getColor(style, KEY_STATUS_BAR_COLOR);
-            navigationBarColor = getColor(style, KEY_NAVIGATION_BAR_COLOR);
-            navBarButtonColor = getColor(style, KEY_NAV_BAR_BUTTON_COLOR);
-            navBarTextColor = getColor(style, KEY_NAV_BAR_TEXT_COLOR);
-            tabNormalTextColor = getColor(style, KEY_TAB_NORMAL_TEXT_COLOR);
-            tabSelectedTextColor = getColor(style, KEY_TAB_SELECTED_TEXT_COLOR);
-            tabIndicatorColor = getColor(style, KEY_TAB_INDICATOR_COLOR);
-            bottomTabsHidden = getBoolean(style, KEY_BOTTOM_TABS_HIDDEN);
+    /**
+     * Loads the icon in the background and delivers it to {@code listener} on the UI thread.
+     */
+    public void loadIcon(Context ctx, IconLoader.OnIconLoadedListener listener) {
+        IconLoader.load(ctx, icon, -1, null, listener);
+    }
+
+    /**
+     * Keeps the payload registered under {@link #passPropsKey} while this screen is displayed. Called on the
+     * native modules thread as soon as the screen is created, so unregistering it before the screen is pushed
+     * doesn't drop it, and again when it's added to a stack. Only the first call holds a reference.
+     */
+    public void retainProps() {
+        if (passPropsKey != null && mPropsRetained.compareAndSet(false, true)) {
+            PropsStore.getInstance().retain(passPropsKey);
+        }
+    }
+
+    /**
+     * Drops the reference taken by {@link #retainProps()}, if any.
+     */
+    public void releaseProps() {
+        if (mPropsRetained.compareAndSet(true, false)) {
+            PropsStore.getInstance().release(passPropsKey);
+        }
+    }
+
+    /**
+     * Returns the props passed to this screen, regenerating them if they were compacted. Must be called on the
+     * UI thread. The Bundle may be shared with other screens and must not be modified.
+     */
+    @Nullable
+    public Bundle getPassedProps() {
+        if (mPassedProps == null && mCompactProps != null) {
+            mPassedProps = BridgeUtils.unmarshall(mCompactProps, Screen.class.getClassLoader());
         }
+        return mPassedProps;
     }
+
+    /**
+     * Drops the converted props, keeping only their marshalled form. Called once the screen's view has
+     * mounted, since the props are only needed again if it's mounted anew. Must be called on the UI thread.
+     */
+    public void compactPassedProps() {
+        mPassedProps = null;
+    }
+
+    /**
+     * Returns the approximate number of bytes retained by this screen's props. The converted Bundle is counted
+     * at its marshalled size, which is a lower bound since live bundles hold boxed values.
+     */
+    public int getRetainedPropsBytes() {
+        if (mCompactProps == null) {
+            return 0;
+        }
+        return mPassedProps != null ? 2 * mCompactProps.length : mCompactProps.length;
+    }
+
+    private ScreenStyle getStyle(ReadableMap screen) {
+        String templateName = getString(screen, KEY_STYLE_TEMPLATE);
+        ScreenStyle template = StyleRegistry.getInstance().getTemplate(templateName);
+        if (templateName != null && template == null) {
+            Log.w(TAG, "Style template " + templateName + " used but not yet registered");
+        }
+        return ScreenStyle.create(template, getMap(screen, KEY_TOOL_BAR_STYLE));
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeString(title);
+        dest.writeString(label);
+        dest.writeString(screenId);
+        dest.writeString(screenInstanceId);
+        dest.writeString(navigatorId);
+        dest.writeString(navigatorEventId);
+        dest.writeString(icon);
+        dest.writeTypedList(buttons);
+        dest.writeByte((byte) (backButtonHidden ? 1 : 0));
+        dest.writeByteArray(mCompactProps);
+        dest.writeString(passPropsKey);
+        dest.writeParcelable(style, flags);
+    }
+
+    public static final Creator<Screen> CREATOR = new Creator<Screen>() {
+        @Override
+        public Screen createFromParcel(Parcel in) {
+            return new Screen(in);
+        }
+
+        @Override
+        public Screen[] newArray(int size) {
+            return new Screen[size];
+        }
+    };
 }
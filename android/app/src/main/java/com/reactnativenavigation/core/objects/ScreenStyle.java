@@ -0,0 +1,161 @@
+package com.reactnativenavigation.core.objects;
+
+import android.graphics.Color;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.support.annotation.ColorInt;
+import android.support.annotation.Nullable;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.reactnativenavigation.core.StyleRegistry;
+
+import java.util.Arrays;
+
+/**
+ * Immutable navigator style of a screen. Instances are interned by {@link StyleRegistry}, so screens
+ * with the same style share one instance and can be compared by identity.
+ */
+public class ScreenStyle implements Parcelable {
+    private static final String KEY_STATUS_BAR_COLOR = "statusBarColor";
+    private static final String KEY_TOOL_BAR_COLOR = "navBarBackgroundColor";
+    private static final String KEY_TOOL_BAR_HIDDEN = "navBarHidden";
+    private static final String KEY_NAVIGATION_BAR_COLOR = "navigationBarColor";
+    private static final String KEY_NAV_BAR_BUTTON_COLOR = "navBarButtonColor";
+    private static final String KEY_NAV_BAR_TEXT_COLOR = "navBarTextColor";
+    private static final String KEY_TAB_NORMAL_TEXT_COLOR = "tabNormalTextColor";
+    private static final String KEY_TAB_SELECTED_TEXT_COLOR = "tabSelectedTextColor";
+    private static final String KEY_TAB_INDICATOR_COLOR = "tabIndicatorColor";
+    private static final String KEY_BOTTOM_TABS_HIDDEN = "tabBarHidden";
+
+    public static final ScreenStyle EMPTY = new ScreenStyle();
+
+    @Nullable @ColorInt public final Integer toolBarColor;
+    // Flags are never null, screens without a style aren't hidden
+    public final Boolean toolBarHidden;
+    @Nullable @ColorInt public final Integer statusBarColor;
+    @Nullable @ColorInt public final Integer navigationBarColor;
+    @Nullable @ColorInt public final Integer navBarButtonColor;
+    @Nullable @ColorInt public final Integer navBarTextColor;
+    @Nullable @ColorInt public final Integer tabNormalTextColor;
+    @Nullable @ColorInt public final Integer tabSelectedTextColor;
+    @Nullable @ColorInt public final Integer tabIndicatorColor;
+    public final Boolean bottomTabsHidden;
+
+    /**
+     * Returns the interned style made of {@code base} with the keys of {@code overrides} applied on top of it.
+     * @param base A registered style template, or {@code null}
+     * @param overrides A navigatorStyle map, or {@code null}
+     */
+    public static ScreenStyle create(@Nullable ScreenStyle base, @Nullable ReadableMap overrides) {
+        if (overrides == null || !overrides.keySetIterator().hasNextKey()) {
+            return base != null ? base : EMPTY;
+        }
+        return StyleRegistry.getInstance().intern(new ScreenStyle(base, overrides));
+    }
+
+    private ScreenStyle() {
+        toolBarColor = null;
+        toolBarHidden = Boolean.FALSE;
+        statusBarColor = null;
+        navigationBarColor = null;
+        navBarButtonColor = null;
+        navBarTextColor = null;
+        tabNormalTextColor = null;
+        tabSelectedTextColor = null;
+        tabIndicatorColor = null;
+        bottomTabsHidden = Boolean.FALSE;
+    }
+
+    private ScreenStyle(@Nullable ScreenStyle base, ReadableMap style) {
+        if (base == null) {
+            base = EMPTY;
+        }
+        toolBarColor = getColor(style, KEY_TOOL_BAR_COLOR, base.toolBarColor);
+        toolBarHidden = getBoolean(style, KEY_TOOL_BAR_HIDDEN, base.toolBarHidden);
+        statusBarColor = getColor(style, KEY_STATUS_BAR_COLOR, base.statusBarColor);
+        navigationBarColor = getColor(style, KEY_NAVIGATION_BAR_COLOR, base.navigationBarColor);
+        navBarButtonColor = getColor(style, KEY_NAV_BAR_BUTTON_COLOR, base.navBarButtonColor);
+        navBarTextColor = getColor(style, KEY_NAV_BAR_TEXT_COLOR, base.navBarTextColor);
+        tabNormalTextColor = getColor(style, KEY_TAB_NORMAL_TEXT_COLOR, base.tabNormalTextColor);
+        tabSelectedTextColor = getColor(style, KEY_TAB_SELECTED_TEXT_COLOR, base.tabSelectedTextColor);
+        tabIndicatorColor = getColor(style, KEY_TAB_INDICATOR_COLOR, base.tabIndicatorColor);
+        bottomTabsHidden = getBoolean(style, KEY_BOTTOM_TABS_HIDDEN, base.bottomTabsHidden);
+    }
+
+    protected ScreenStyle(Parcel in) {
+        toolBarColor = JsonObject.readNullableInt(in);
+        toolBarHidden = nonNull(JsonObject.readNullableBoolean(in));
+        statusBarColor = JsonObject.readNullableInt(in);
+        navigationBarColor = JsonObject.readNullableInt(in);
+        navBarButtonColor = JsonObject.readNullableInt(in);
+        navBarTextColor = JsonObject.readNullableInt(in);
+        tabNormalTextColor = JsonObject.readNullableInt(in);
+        tabSelectedTextColor = JsonObject.readNullableInt(in);
+        tabIndicatorColor = JsonObject.readNullableInt(in);
+        bottomTabsHidden = nonNull(JsonObject.readNullableBoolean(in));
+    }
+
+    private static Boolean nonNull(@Nullable Boolean flag) {
+        return flag != null ? flag : Boolean.FALSE;
+    }
+
+    private static Integer getColor(ReadableMap map, String key, Integer fallback) {
+        return map.hasKey(key) ? Integer.valueOf(Color.parseColor(map.getString(key))) : fallback;
+    }
+
+    private static Boolean getBoolean(ReadableMap map, String key, Boolean fallback) {
+        return map.hasKey(key) ? Boolean.valueOf(map.getBoolean(key)) : fallback;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ScreenStyle)) {
+            return false;
+        }
+        return Arrays.equals(toArray(), ((ScreenStyle) o).toArray());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toArray());
+    }
+
+    private Object[] toArray() {
+        return new Object[]{toolBarColor, toolBarHidden, statusBarColor, navigationBarColor, navBarButtonColor,
+                navBarTextColor, tabNormalTextColor, tabSelectedTextColor, tabIndicatorColor, bottomTabsHidden};
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        JsonObject.writeNullableInt(dest, toolBarColor);
+        JsonObject.writeNullableBoolean(dest, toolBarHidden);
+        JsonObject.writeNullableInt(dest, statusBarColor);
+        JsonObject.writeNullableInt(dest, navigationBarColor);
+        JsonObject.writeNullableInt(dest, navBarButtonColor);
+        JsonObject.writeNullableInt(dest, navBarTextColor);
+        JsonObject.writeNullableInt(dest, tabNormalTextColor);
+        JsonObject.writeNullableInt(dest, tabSelectedTextColor);
+        JsonObject.writeNullableInt(dest, tabIndicatorColor);
+        JsonObject.writeNullableBoolean(dest, bottomTabsHidden);
+    }
+
+    public static final Creator<ScreenStyle> CREATOR = new Creator<ScreenStyle>() {
+        @Override
+        public ScreenStyle createFromParcel(Parcel in) {
+            return StyleRegistry.getInstance().intern(new ScreenStyle(in));
+        }
+
+        @Override
+        public ScreenStyle[] newArray(int size) {
+            return new ScreenStyle[size];
+        }
+    };
+}
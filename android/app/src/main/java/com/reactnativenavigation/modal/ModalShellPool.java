@@ -0,0 +1,115 @@
+package com.reactnativenavigation.modal;
+
+import android.os.Looper;
+import android.os.MessageQueue;
+
+import com.reactnativenavigation.activities.BaseReactActivity;
+import com.reactnativenavigation.core.objects.Screen;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+
+/**
+ * Keeps dismissed {@link RnnModal}s so displaying a modal again doesn't create a window, inflate its
+ * layout and style it from scratch. Shells belong to the activity they were created for, and one whose
+ * window was styled like the displayed screen is preferred.
+ */
+public class ModalShellPool {
+    private static final int MAX_SHELLS = 3;
+    private static ModalShellPool sInstance;
+    private static boolean sWarmShellEnabled;
+
+    // Most recently dismissed first
+    private final LinkedList<RnnModal> mShells = new LinkedList<>();
+
+    private ModalShellPool() {
+        // Singleton
+    }
+
+    public static synchronized ModalShellPool getInstance() {
+        if (sInstance == null) {
+            sInstance = new ModalShellPool();
+        }
+        return sInstance;
+    }
+
+    /**
+     * Creates a shell when the UI thread is first idle after an activity is created, so the first modal
+     * is displayed as quickly as the following ones. Disabled by default.
+     */
+    public static void setWarmShellEnabled(boolean enabled) {
+        sWarmShellEnabled = enabled;
+    }
+
+    RnnModal obtain(BaseReactActivity activity, Screen screen) {
+        RnnModal fallback = null;
+        for (RnnModal shell : mShells) {
+            if (shell.getActivity() != activity || shell.isOverlay() != RnnModal.isOverlayModeEnabled()) {
+                continue;
+            }
+            if (shell.isStyledFor(screen.style)) {
+                mShells.remove(shell);
+                return shell;
+            }
+            if (fallback == null) {
+                fallback = shell;
+            }
+        }
+
+        if (fallback != null) {
+            mShells.remove(fallback);
+            return fallback;
+        }
+        return new RnnModal(activity);
+    }
+
+    void recycle(RnnModal shell) {
+        BaseReactActivity activity = shell.getActivity();
+        if (activity.isFinishing() || mShells.contains(shell)) {
+            return;
+        }
+        mShells.addFirst(shell);
+        while (mShells.size() > MAX_SHELLS) {
+            mShells.removeLast();
+        }
+    }
+
+    /**
+     * Creates a shell for {@code activity} once the UI thread is idle, if warm shells are enabled.
+     */
+    public void warmUp(final BaseReactActivity activity) {
+        if (!sWarmShellEnabled) {
+            return;
+        }
+        Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+            @Override
+            public boolean queueIdle() {
+                if (!activity.isFinishing() && !hasShell(activity)) {
+                    recycle(new RnnModal(activity));
+                }
+                return false;
+            }
+        });
+    }
+
+    private boolean hasShell(BaseReactActivity activity) {
+        for (RnnModal shell : mShells) {
+            if (shell.getActivity() == activity) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drops the shells of {@code activity}, which is being destroyed.
+     */
+    public void clear(BaseReactActivity activity) {
+        Iterator<RnnModal> iterator = mShells.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getActivity() == activity) {
+                iterator.remove();
+            }
+        }
+    }
+}
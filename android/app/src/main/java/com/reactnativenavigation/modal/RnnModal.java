@@ -1,12 +1,12 @@
 package com.reactnativenavigation.modal;
 
-import android.annotation.SuppressLint;
 import android.app.Dialog;
-import android.content.Context;
 import android.content.DialogInterface;
+import android.os.Looper;
+import android.os.MessageQueue;
 import android.support.annotation.Nullable;
-import android.view.LayoutInflater;
 import android.view.View;
+import android.view.ViewGroup;
 import android.view.Window;
 import android.view.WindowManager;
 import android.view.animation.Animation;
@@ -16,52 +16,228 @@ import com.reactnativenavigation.R;
 import com.reactnativenavigation.activities.BaseReactActivity;
 import com.reactnativenavigation.controllers.ModalController;
 import com.reactnativenavigation.core.objects.Screen;
-import com.reactnativenavigation.utils.ContextProvider;
+import com.reactnativenavigation.core.objects.ScreenStyle;
 import com.reactnativenavigation.utils.SdkSupports;
+import com.reactnativenavigation.utils.ShellInflater;
 import com.reactnativenavigation.utils.StyleHelper;
 import com.reactnativenavigation.views.RctView;
 import com.reactnativenavigation.views.RnnToolBar;
 import com.reactnativenavigation.views.ScreenStack;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static android.view.ViewGroup.LayoutParams.MATCH_PARENT;
+
 /**
+ * A modal's window, toolbar and screen stack. Once dismissed and its screens are unmounted, the modal
+ * returns to the {@link ModalShellPool} to be displayed again.
+ * <p>In overlay mode, see {@link #setOverlayModeEnabled}, the modal is displayed in the activity's
+ * content view instead of a window of its own.
  * Created by guyc on 02/05/16.
  */
 public class RnnModal extends Dialog implements DialogInterface.OnDismissListener {
+    private static boolean sOverlayModeEnabled;
 
+    private final BaseReactActivity mActivity;
+    private final boolean mOverlay;
+    private final int mWindowAnimations;
+    private boolean mOverlayShowing;
+    private boolean mSkipExitAnimation;
+    // Views of the activity hidden below the overlay, so they aren't drawn for nothing
+    private final List<View> mHiddenViews = new ArrayList<>();
     private ScreenStack mScreenStack;
     private View mContentView;
     private RnnToolBar mToolBar;
+    @Nullable private ScreenStack mCoveredStack;
+    // The style the window's system bars were last set up for
+    @Nullable private ScreenStyle mWindowStyle;
 
-    public RnnModal(BaseReactActivity context, Screen screen) {
-        super(context, R.style.Modal);
-        ModalController.getInstance().add(this);
-        init(context, screen);
+    /**
+     * Displays the modals created from now on inside the activity's content view, which avoids
+     * creating a window for each modal. Modal screens are expected to be opaque, since the activity's
+     * layout is hidden once the modal is displayed. Disabled by default.
+     */
+    public static void setOverlayModeEnabled(boolean enabled) {
+        sOverlayModeEnabled = enabled;
+    }
+
+    static boolean isOverlayModeEnabled() {
+        return sOverlayModeEnabled;
     }
 
-    @SuppressLint("InflateParams")
-    private void init(final Context context, Screen screen) {
-        requestWindowFeature(Window.FEATURE_NO_TITLE);
-        mContentView = LayoutInflater.from(context).inflate(R.layout.modal_layout, null, false);
+    /**
+     * Displays {@code screen} in a modal, reusing a pooled modal when there is one.
+     */
+    public static RnnModal open(BaseReactActivity context, Screen screen) {
+        RnnModal modal = ModalShellPool.getInstance().obtain(context, screen);
+        modal.present(screen);
+        return modal;
+    }
+
+    RnnModal(BaseReactActivity context) {
+        super(context, R.style.Modal);
+        mActivity = context;
+        mOverlay = sOverlayModeEnabled;
+        mContentView = ShellInflater.obtain(context, R.layout.modal_layout);
         mToolBar = (RnnToolBar) mContentView.findViewById(R.id.toolbar);
         mScreenStack = (ScreenStack) mContentView.findViewById(R.id.screenStack);
-        setContentView(mContentView);
+
+        if (mOverlay) {
+            // The window is never shown, the content view is added to the activity instead
+            mWindowAnimations = 0;
+        } else {
+            requestWindowFeature(Window.FEATURE_NO_TITLE);
+            setContentView(mContentView);
+            Window window = getWindow();
+            if (SdkSupports.lollipop()) {
+                window.addFlags(WindowManager.LayoutParams.FLAG_DRAWS_SYSTEM_BAR_BACKGROUNDS);
+            }
+            mWindowAnimations = window.getAttributes().windowAnimations;
+            setOnDismissListener(this);
+        }
+        // Have a shell ready for the next modal
+        ShellInflater.preinflate(context, R.layout.modal_layout);
+    }
+
+    BaseReactActivity getActivity() {
+        return mActivity;
+    }
+
+    boolean isOverlay() {
+        return mOverlay;
+    }
+
+    boolean isStyledFor(ScreenStyle style) {
+        return style.equals(mWindowStyle);
+    }
+
+    private void present(Screen screen) {
+        RnnModal previous = ModalController.getInstance().get();
+        mCoveredStack = previous != null ? previous.mScreenStack : mActivity.getCurrentScreenStack();
+        ModalController.getInstance().add(this);
+
         mToolBar.update(screen);
         mScreenStack.push(screen, new RctView.OnDisplayedListener() {
             @Override
             public void onDisplayed() {
-                Animation animation = AnimationUtils.loadAnimation(context, R.anim.slide_up);
+                Animation animation = AnimationUtils.loadAnimation(mActivity, R.anim.slide_up);
+                if (mOverlay) {
+                    animation.setAnimationListener(new Animation.AnimationListener() {
+                        @Override
+                        public void onAnimationStart(Animation animation) {
+
+                        }
+
+                        @Override
+                        public void onAnimationEnd(Animation animation) {
+                            if (mOverlayShowing) {
+                                hideCoveredViews();
+                            }
+                        }
+
+                        @Override
+                        public void onAnimationRepeat(Animation animation) {
+
+                        }
+                    });
+                }
                 mContentView.setAnimation(animation);
                 mContentView.animate();
             }
         });
 
+        if (mOverlay) {
+            showOverlay(screen);
+        } else {
+            showWindow(screen);
+        }
+        if (mCoveredStack != null) {
+            mCoveredStack.setCovered(true);
+        }
+    }
+
+    private void showOverlay(Screen screen) {
+        mOverlayShowing = true;
+        mSkipExitAnimation = false;
+        getActivityContent().addView(mContentView, MATCH_PARENT, MATCH_PARENT);
+        StyleHelper.setWindowStyle(mActivity.getWindow(), mActivity, screen);
+    }
+
+    private void showWindow(Screen screen) {
         // Set navigation colors
-        if (SdkSupports.lollipop()) {
-            Window window = getWindow();
-            window.addFlags(WindowManager.LayoutParams.FLAG_DRAWS_SYSTEM_BAR_BACKGROUNDS);
-            StyleHelper.setWindowStyle(window, context.getApplicationContext(), screen);
+        Window window = getWindow();
+        window.setWindowAnimations(mWindowAnimations);
+        if (SdkSupports.lollipop() && !isStyledFor(screen.style)) {
+            StyleHelper.setWindowStyle(window, mActivity.getApplicationContext(), screen);
+            mWindowStyle = screen.style;
+        }
+        show();
+    }
+
+    private ViewGroup getActivityContent() {
+        return (ViewGroup) mActivity.findViewById(android.R.id.content);
+    }
+
+    private void hideCoveredViews() {
+        ViewGroup content = getActivityContent();
+        for (int i = 0; i < content.getChildCount(); i++) {
+            View child = content.getChildAt(i);
+            if (child != mContentView && child.getVisibility() == View.VISIBLE) {
+                child.setVisibility(View.INVISIBLE);
+                mHiddenViews.add(child);
+            }
+        }
+    }
+
+    private void restoreCoveredViews() {
+        for (View view : mHiddenViews) {
+            view.setVisibility(View.VISIBLE);
+        }
+        mHiddenViews.clear();
+    }
+
+    private void dismissOverlay() {
+        mOverlayShowing = false;
+        restoreCoveredViews();
+        if (mSkipExitAnimation) {
+            removeOverlay();
+            return;
+        }
+
+        Animation animation = AnimationUtils.loadAnimation(mActivity, R.anim.slide_down);
+        animation.setAnimationListener(new Animation.AnimationListener() {
+            @Override
+            public void onAnimationStart(Animation animation) {
+
+            }
+
+            @Override
+            public void onAnimationEnd(Animation animation) {
+                // Views can't be removed while their animation is being dispatched
+                mContentView.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        removeOverlay();
+                    }
+                });
+            }
+
+            @Override
+            public void onAnimationRepeat(Animation animation) {
+
+            }
+        });
+        mContentView.startAnimation(animation);
+    }
+
+    private void removeOverlay() {
+        ViewGroup parent = (ViewGroup) mContentView.getParent();
+        if (parent != null) {
+            mContentView.clearAnimation();
+            parent.removeView(mContentView);
         }
-        setOnDismissListener(this);
+        onDismiss(this);
     }
 
     public void push(Screen screen) {
@@ -86,6 +262,47 @@ public class RnnModal extends Dialog implements DialogInterface.OnDismissListene
         return mScreenStack.isEmpty() ? null : mScreenStack.peek();
     }
 
+    /**
+     * Dismisses the modal without its exit animation.
+     */
+    public void dismissWithoutAnimation() {
+        if (mOverlay) {
+            mSkipExitAnimation = true;
+        } else {
+            Window window = getWindow();
+            if (window != null) {
+                window.setWindowAnimations(0);
+            }
+        }
+        dismiss();
+    }
+
+    @Override
+    public void dismiss() {
+        if (mOverlay && Looper.myLooper() != Looper.getMainLooper()) {
+            mActivity.runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    dismiss();
+                }
+            });
+            return;
+        }
+
+        // Screens are unmounted once the UI thread is idle instead of while the window is removed
+        mScreenStack.keepMountedOnDetach();
+        if (!mOverlay) {
+            super.dismiss();
+        } else if (mOverlayShowing) {
+            dismissOverlay();
+        }
+    }
+
+    @Override
+    public boolean isShowing() {
+        return mOverlay ? mOverlayShowing : super.isShowing();
+    }
+
     @Override
     public void onBackPressed() {
         if (mScreenStack.getStackSize() == 1) {
@@ -97,12 +314,32 @@ public class RnnModal extends Dialog implements DialogInterface.OnDismissListene
 
     @Override
     public void onDismiss(DialogInterface dialog) {
-        ModalController.getInstance().remove();
+        ModalController.getInstance().remove(this);
+        if (mCoveredStack != null) {
+            mCoveredStack.setCovered(false);
+            mCoveredStack = null;
+        }
         // After modal is dismissed, update Toolbar with screen from parent activity or previously displayed modal
-        BaseReactActivity context = ContextProvider.getActivityContext();
-        if (context != null) {
-            Screen currentScreen = context.getCurrentScreen();
-            StyleHelper.updateStyles(mToolBar, currentScreen);
+        Screen currentScreen = mActivity.getCurrentScreen();
+        if (currentScreen != null) {
+            RnnModal previous = ModalController.getInstance().get();
+            RnnToolBar toolBar = previous != null ? previous.mToolBar : mActivity.getToolbar();
+            if (toolBar != null) {
+                StyleHelper.updateStyles(toolBar, currentScreen);
+            }
+            if (mOverlay) {
+                // The overlay styled the activity's system bars, give them back to the screen below it
+                StyleHelper.setWindowStyle(mActivity.getWindow(), mActivity, currentScreen);
+            }
         }
+
+        Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+            @Override
+            public boolean queueIdle() {
+                mScreenStack.removeAllReactViews();
+                ModalShellPool.getInstance().recycle(RnnModal.this);
+                return false;
+            }
+        });
     }
 }
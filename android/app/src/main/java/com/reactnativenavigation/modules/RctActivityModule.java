@@ -9,17 +9,23 @@ import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
-import com.facebook.react.bridge.ReadableNativeMap;
 import com.reactnativenavigation.activities.BaseReactActivity;
 import com.reactnativenavigation.activities.BottomTabActivity;
+import com.reactnativenavigation.activities.NavigationHostActivity;
 import com.reactnativenavigation.activities.RootActivity;
 import com.reactnativenavigation.activities.SingleScreenActivity;
+import com.reactnativenavigation.controllers.LaunchSpecRegistry;
 import com.reactnativenavigation.controllers.ModalController;
+import com.reactnativenavigation.core.PropsStore;
+import com.reactnativenavigation.core.StyleRegistry;
 import com.reactnativenavigation.core.objects.Drawer;
+import com.reactnativenavigation.core.objects.LaunchSpec;
 import com.reactnativenavigation.core.objects.Screen;
+import com.reactnativenavigation.core.objects.ScreenStyle;
 import com.reactnativenavigation.modal.RnnModal;
 import com.reactnativenavigation.utils.BridgeUtils;
 import com.reactnativenavigation.utils.ContextProvider;
+import com.reactnativenavigation.utils.StartupTracer;
 
 import java.util.ArrayList;
 
@@ -38,31 +44,15 @@ public class RctActivityModule extends ReactContextBaseJavaModule {
     }
 
     @ReactMethod
-    public void startTabBasedApp(ReadableArray screens, ReadableMap style, ReadableMap drawerParams) {
-        Activity context = ContextProvider.getActivityContext();
-        if (context != null && !context.isFinishing()) {
-            Intent intent = new Intent(context, BottomTabActivity.class);
-            intent.addFlags(Intent.FLAG_ACTIVITY_CLEAR_TASK | Intent.FLAG_ACTIVITY_NEW_TASK);
-
-            Bundle extras = new Bundle();
-            extras.putSerializable(BottomTabActivity.EXTRA_SCREENS, createScreens(screens));
-            if (drawerParams != null) {
-                extras.putSerializable(BottomTabActivity.DRAWER_PARAMS, new Drawer(drawerParams));
-            }
-            if (style != null) {
-                BridgeUtils.addMapToBundle(((ReadableNativeMap) style).toHashMap(), extras);
-            }
-            intent.putExtras(extras);
-
-            context.startActivity(intent);
-            //TODO add abstract isRoot() instead of instanceof?
-            if(ContextProvider.getActivityContext() instanceof RootActivity) {
-                context.overridePendingTransition(0, 0);
-            }
-
-            // Dismiss modals associated with previous activity
-            ModalController.getInstance().dismissAllModals();
+    public void startTabBasedApp(ReadableArray screens, ReadableMap style, ReadableMap drawerParams,
+                                 boolean singleActivityHost) {
+        Bundle styleBundle = new Bundle();
+        if (style != null) {
+            BridgeUtils.addMapToBundle(style, styleBundle);
         }
+        Drawer drawer = drawerParams != null ? new Drawer(drawerParams) : null;
+        startApp(new LaunchSpec(createScreens(screens), drawer, styleBundle, true),
+                BottomTabActivity.class, singleActivityHost);
     }
 
     private ArrayList<Screen> createScreens(ReadableArray screens) {
@@ -74,27 +64,76 @@ public class RctActivityModule extends ReactContextBaseJavaModule {
     }
 
     @ReactMethod
-    public void startSingleScreenApp(ReadableMap screen, ReadableMap drawerParams) {
-        BaseReactActivity context = ContextProvider.getActivityContext();
-        if (context != null && !context.isFinishing()) {
-            Intent intent = new Intent(context, SingleScreenActivity.class);
-            intent.addFlags(Intent.FLAG_ACTIVITY_CLEAR_TASK | Intent.FLAG_ACTIVITY_NEW_TASK);
+    public void startSingleScreenApp(ReadableMap screen, ReadableMap drawerParams, boolean singleActivityHost) {
+        ArrayList<Screen> screens = new ArrayList<>();
+        screens.add(new Screen(screen));
+        Drawer drawer = drawerParams != null ? new Drawer(drawerParams) : null;
+        startApp(new LaunchSpec(screens, drawer, new Bundle(), false),
+                SingleScreenActivity.class, singleActivityHost);
+    }
 
-            Bundle extras = new Bundle();
-            extras.putSerializable(SingleScreenActivity.EXTRA_SCREEN, new Screen(screen));
-            if (drawerParams != null) {
-                extras.putSerializable(SingleScreenActivity.DRAWER_PARAMS, new Drawer(drawerParams));
-            }
-            intent.putExtras(extras);
+    private void startApp(final LaunchSpec launchSpec, Class<? extends Activity> activityClass,
+                          boolean singleActivityHost) {
+        StartupTracer.mark(StartupTracer.START_APP_CALLED);
+        // Retained before the layout is posted, so unregistering a payload meanwhile doesn't drop it
+        for (Screen screen : launchSpec.screens) {
+            screen.retainProps();
+        }
+        // A host displaying the previous layout is being started, it'll switch to this one once created
+        if (NavigationHostActivity.offerLaunchSpec(launchSpec)) {
+            return;
+        }
 
-            context.startActivity(intent);
-            if(ContextProvider.getActivityContext() instanceof RootActivity) {
-                context.overridePendingTransition(0, 0);
-            }
+        final BaseReactActivity context = ContextProvider.getActivityContext();
+        if (context == null || context.isFinishing()) {
+            return;
+        }
 
-            // Dismiss modals associated with previous activity
-            ModalController.getInstance().dismissAllModals();
+        if (context instanceof NavigationHostActivity &&
+                (singleActivityHost || ((NavigationHostActivity) context).isProvisional())) {
+            // Switch the layout in place, keeping the activity and its toolbar
+            context.runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    ModalController.getInstance().dismissAllModals();
+                    ((NavigationHostActivity) context).setLaunchSpec(launchSpec);
+                }
+            });
+            return;
+        }
+
+        Intent intent = new Intent(context, singleActivityHost ? NavigationHostActivity.class : activityClass);
+        intent.addFlags(Intent.FLAG_ACTIVITY_CLEAR_TASK | Intent.FLAG_ACTIVITY_NEW_TASK);
+        LaunchSpecRegistry.getInstance().attach(context, intent, launchSpec);
+
+        context.startActivity(intent);
+        //TODO add abstract isRoot() instead of instanceof?
+        if(ContextProvider.getActivityContext() instanceof RootActivity) {
+            context.overridePendingTransition(0, 0);
         }
+
+        // Dismiss modals associated with previous activity
+        context.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                ModalController.getInstance().dismissAllModals();
+            }
+        });
+    }
+
+    @ReactMethod
+    public void registerProps(String key, ReadableMap props) {
+        PropsStore.getInstance().register(key, BridgeUtils.addMapToBundle(props, new Bundle()));
+    }
+
+    @ReactMethod
+    public void unregisterProps(String key) {
+        PropsStore.getInstance().unregister(key);
+    }
+
+    @ReactMethod
+    public void registerStyle(String name, ReadableMap style) {
+        StyleRegistry.getInstance().register(name, ScreenStyle.create(null, style));
     }
 
     @ReactMethod
@@ -203,25 +242,24 @@ public class RctActivityModule extends ReactContextBaseJavaModule {
             return;
         }
 
-        // First, check if the screen should be pushed to a Modal
-        ModalController modalController = ModalController.getInstance();
-        if (modalController.isModalDisplayed()) {
-            final RnnModal modal = modalController.get();
-            if (modal != null) {
-                context.runOnUiThread(new Runnable() {
-                    @Override
-                    public void run() {
-                        modal.push(screen);
-                    }
-                });
-            }
-            return;
-        }
-
-        // No Modal is displayed, Push to activity
+        // Retained before the push is posted, so unregistering the payload meanwhile doesn't drop it
+        screen.retainProps();
         context.runOnUiThread(new Runnable() {
             @Override
             public void run() {
+                // First, check if the screen should be pushed to a Modal
+                ModalController modalController = ModalController.getInstance();
+                if (modalController.isModalDisplayed()) {
+                    RnnModal modal = modalController.get();
+                    if (modal != null) {
+                        modal.push(screen);
+                    } else {
+                        screen.releaseProps();
+                    }
+                    return;
+                }
+
+                // No Modal is displayed, Push to activity
                 context.push(screen);
             }
         });
@@ -235,27 +273,22 @@ public class RctActivityModule extends ReactContextBaseJavaModule {
             return;
         }
 
-        // First, check if the screen should be popped from a Modal
-        ModalController modalController = ModalController.getInstance();
-        if (modalController.isModalDisplayed()) {
-            final RnnModal modal = modalController.get();
-            if (modal != null) {
-                context.runOnUiThread(new Runnable() {
-                    @Override
-                    public void run() {
+        context.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                // First, check if the screen should be popped from a Modal
+                ModalController modalController = ModalController.getInstance();
+                if (modalController.isModalDisplayed()) {
+                    RnnModal modal = modalController.get();
+                    if (modal != null) {
                         modal.pop();
                     }
-                });
-            }
-            return;
-        } else {
-            context.runOnUiThread(new Runnable() {
-                @Override
-                public void run() {
-                    context.pop(navigatorId);
+                    return;
                 }
-            });
-        }
+
+                context.pop(navigatorId);
+            }
+        });
     }
 
     @ReactMethod
@@ -283,6 +316,7 @@ public class RctActivityModule extends ReactContextBaseJavaModule {
         }
 
         final Screen screen = new Screen(skreen);
+        screen.retainProps();
         context.runOnUiThread(new Runnable() {
             @Override
             public void run() {
@@ -292,13 +326,15 @@ public class RctActivityModule extends ReactContextBaseJavaModule {
     }
 
     @ReactMethod
-    public void showModal(final ReadableMap screen) {
+    public void showModal(ReadableMap skreen) {
         final BaseReactActivity context = ContextProvider.getActivityContext();
         if (context != null && !context.isFinishing()) {
+            final Screen screen = new Screen(skreen);
+            screen.retainProps();
             context.runOnUiThread(new Runnable() {
                 @Override
                 public void run() {
-                    new RnnModal(context, new Screen(screen)).show();
+                    RnnModal.open(context, screen);
                 }
             });
         }
@@ -325,9 +361,17 @@ public class RctActivityModule extends ReactContextBaseJavaModule {
      */
     @ReactMethod
     public void dismissModal() {
-        ModalController modalController = ModalController.getInstance();
-        if (modalController.isModalDisplayed()) {
-            modalController.dismissModal();
+        final BaseReactActivity context = ContextProvider.getActivityContext();
+        if (context != null && !context.isFinishing()) {
+            context.runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    ModalController modalController = ModalController.getInstance();
+                    if (modalController.isModalDisplayed()) {
+                        modalController.dismissModal();
+                    }
+                }
+            });
         }
     }
 }
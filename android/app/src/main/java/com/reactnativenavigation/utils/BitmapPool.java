@@ -0,0 +1,80 @@
+package com.reactnativenavigation.utils;
+
+import android.annotation.TargetApi;
+import android.graphics.Bitmap;
+import android.os.Build;
+import android.support.annotation.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+
+/**
+ * Small pool of mutable bitmaps which are reused through {@link android.graphics.BitmapFactory.Options#inBitmap}
+ * when decoding icons. Only intermediate bitmaps, which are discarded once the icon is scaled to its
+ * final size, are returned to the pool.
+ */
+public class BitmapPool {
+    private static final int MAX_POOL_SIZE = 4;
+    private static final BitmapPool sInstance = new BitmapPool();
+
+    private final LinkedList<Bitmap> mPool = new LinkedList<>();
+
+    public static BitmapPool getInstance() {
+        return sInstance;
+    }
+
+    /**
+     * Returns a bitmap which can be used to decode an image of the given size and config into,
+     * or {@code null} if there is none.
+     */
+    @Nullable
+    public synchronized Bitmap get(int width, int height, Bitmap.Config config) {
+        Iterator<Bitmap> iterator = mPool.iterator();
+        while (iterator.hasNext()) {
+            Bitmap candidate = iterator.next();
+            if (candidate.isRecycled()) {
+                iterator.remove();
+            } else if (canReuse(candidate, width, height, config)) {
+                iterator.remove();
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    public synchronized void put(Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled() || !bitmap.isMutable()) {
+            return;
+        }
+        if (mPool.size() >= MAX_POOL_SIZE) {
+            mPool.removeFirst();
+        }
+        mPool.addLast(bitmap);
+    }
+
+    public synchronized void clear() {
+        mPool.clear();
+    }
+
+    private static boolean canReuse(Bitmap candidate, int width, int height, Bitmap.Config config) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+            return getAllocationByteCount(candidate) >= width * height * getBytesPerPixel(config);
+        }
+        // Prior to KitKat only bitmaps with the exact same size can be reused
+        return candidate.getWidth() == width && candidate.getHeight() == height && candidate.getConfig() == config;
+    }
+
+    @TargetApi(Build.VERSION_CODES.KITKAT)
+    private static int getAllocationByteCount(Bitmap bitmap) {
+        return bitmap.getAllocationByteCount();
+    }
+
+    private static int getBytesPerPixel(Bitmap.Config config) {
+        if (config == Bitmap.Config.RGB_565 || config == Bitmap.Config.ARGB_4444) {
+            return 2;
+        } else if (config == Bitmap.Config.ALPHA_8) {
+            return 1;
+        }
+        return 4;
+    }
+}
@@ -1,121 +1,180 @@
 package com.reactnativenavigation.utils;
 
 import android.os.Bundle;
+import android.os.Parcel;
 import android.util.Log;
+import android.util.LruCache;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.bridge.ReadableType;
 
 /**
  * Created by yedidyak on 26/05/2016.
  */
 public class BridgeUtils {
+    static final int MAX_CACHED_PROPS_BYTES = 256 * 1024;
 
-    @SuppressWarnings("unchecked")
-    public static Bundle addMapToBundle(HashMap<String, ?> map, Bundle bundle) {
-        for (String key : map.keySet()) {
-            Object value = map.get(key);
-            if (value instanceof String) {
-                bundle.putString(key, (String) value);
-            } else if (value instanceof Integer) {
-                bundle.putInt(key, (Integer) value);
-            } else if (value instanceof Double) {
-                bundle.putDouble(key, ((Double) value));
-            } else if (value instanceof Boolean) {
-                bundle.putBoolean(key, (Boolean) value);
-            } else if (value instanceof HashMap) {
-                bundle.putBundle(key, addMapToBundle((HashMap<String, Object>) value, new Bundle()));
-            } else if (value instanceof ArrayList) {
-                putArray(key, (ArrayList) value, bundle);
-            }
+    // Serialized props to their converted form, so pushing a screen with the same props again reuses it
+    private static final LruCache<String, Props> sPropsCache = new LruCache<String, Props>(MAX_CACHED_PROPS_BYTES) {
+        @Override
+        protected int sizeOf(String key, Props value) {
+            // The Bundle is counted at its marshalled size, a lower bound since it holds boxed values
+            return 2 * key.length() + 2 * value.marshalled.length;
         }
-        return bundle;
-    }
+    };
 
-    @SuppressWarnings("unchecked")
-    private static void putArray(String key, ArrayList arrayList, Bundle bundle) {
-        if (arrayList.size() == 0) {
-            bundle.putBooleanArray(key, new boolean[]{});
-        } else {
-            verifyArrayListIsSingleType(arrayList);
-            if (arrayList.get(0) instanceof String) {
-                bundle.putStringArray(key, toStringArray((ArrayList<String>) arrayList));
-            } else if (arrayList.get(0) instanceof Integer) {
-                bundle.putIntArray(key, toIntArray((ArrayList<Integer>) arrayList));
-            } else if (arrayList.get(0) instanceof Float) {
-                bundle.putFloatArray(key, toFloatArray((ArrayList<Float>) arrayList));
-            } else if (arrayList.get(0) instanceof Double) {
-                bundle.putDoubleArray(key, toDoubleArray((ArrayList<Double>) arrayList));
-            } else if (arrayList.get(0) instanceof Boolean) {
-                bundle.putBooleanArray(key, toBooleanArray((ArrayList<Boolean>) arrayList));
-            } else if (arrayList.get(0) instanceof HashMap) {
-                bundle.putParcelableArray(key, toBundleArray((ArrayList<HashMap>) arrayList));
-            } else if (arrayList.get(0) instanceof ArrayList) {
-                Log.w("RNNavigation", "Arrays of arrays passed in props are converted to dictionaries with indexes as keys");
-                Bundle innerArray = new Bundle();
-                for (int i = 0; i < arrayList.size(); i++) {
-                    putArray(String.valueOf(i), (ArrayList) arrayList.get(i), innerArray);
-                }
-                bundle.putParcelable(key, innerArray);
-            }
+    /**
+     * Props passed to a screen, along with their marshalled form.
+     */
+    public static class Props {
+        public final Bundle bundle;
+        public final byte[] marshalled;
+
+        Props(Bundle bundle, byte[] marshalled) {
+            this.bundle = bundle;
+            this.marshalled = marshalled;
         }
     }
 
-    private static void verifyArrayListIsSingleType(ArrayList arrayList) {
-        for (int i = 1; i < arrayList.size(); i++) {
-            if (!arrayList.get(i - 1).getClass().isInstance(arrayList.get(i))) {
-                throw new IllegalArgumentException("Cannot pass array of multiple types via props");
-            }
+    /**
+     * Converts and marshals the props passed to a screen, reusing the result for equal props. Props are
+     * compared by their serialized form, which takes a single call into the bridge rather than a few per key.
+     * The returned Bundle and array are shared and must not be modified.
+     */
+    public static Props toProps(ReadableMap props) {
+        String key = props.toString();
+        Props converted = sPropsCache.get(key);
+        if (converted == null) {
+            Bundle bundle = addMapToBundle(props, new Bundle());
+            converted = new Props(bundle, marshall(bundle));
+            sPropsCache.put(key, converted);
         }
+        return converted;
     }
 
-    @SuppressWarnings("unchecked")
-    private static Bundle[] toBundleArray(ArrayList<HashMap> arrayList) {
-        Bundle[] ret = new Bundle[arrayList.size()];
-        for (int i=0; i < ret.length; i++) {
-            ret[i] = addMapToBundle(arrayList.get(i), new Bundle());
-        }
-        return ret;
+    /**
+     * Returns the number of bytes the props cache accounts for.
+     */
+    static int getCachedPropsBytes() {
+        return sPropsCache.size();
     }
 
-    private static int[] toIntArray(ArrayList<Integer> arrayList) {
-        int[] ret = new int[arrayList.size()];
-        for (int i=0; i < ret.length; i++) {
-            ret[i] = arrayList.get(i);
-        }
-        return ret;
+    static void clearPropsCache() {
+        sPropsCache.evictAll();
     }
 
-    private static float[] toFloatArray(ArrayList<Float> arrayList) {
-        float[] ret = new float[arrayList.size()];
-        for (int i=0; i < ret.length; i++) {
-            ret[i] = arrayList.get(i);
+    public static byte[] marshall(Bundle bundle) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            parcel.writeBundle(bundle);
+            return parcel.marshall();
+        } finally {
+            parcel.recycle();
         }
-        return ret;
     }
 
-    private static double[] toDoubleArray(ArrayList<Double> arrayList) {
-        double[] ret = new double[arrayList.size()];
-        for (int i=0; i < ret.length; i++) {
-            ret[i] = arrayList.get(i);
+    public static Bundle unmarshall(byte[] data, ClassLoader classLoader) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            parcel.unmarshall(data, 0, data.length);
+            parcel.setDataPosition(0);
+            return parcel.readBundle(classLoader);
+        } finally {
+            parcel.recycle();
         }
-        return ret;
     }
 
-    private static boolean[] toBooleanArray(ArrayList<Boolean> arrayList) {
-        boolean[] ret = new boolean[arrayList.size()];
-        for (int i=0; i < ret.length; i++) {
-            ret[i] = arrayList.get(i);
+    /**
+     * Converts {@code map} into a {@link Bundle} in a single pass, dispatching on {@link ReadableType}
+     * instead of going through an intermediate HashMap. Numbers are stored as doubles, since that's how
+     * they cross the bridge.
+     */
+    public static Bundle addMapToBundle(ReadableMap map, Bundle bundle) {
+        ReadableMapKeySetIterator iterator = map.keySetIterator();
+        while (iterator.hasNextKey()) {
+            String key = iterator.nextKey();
+            switch (map.getType(key)) {
+                case String:
+                    bundle.putString(key, map.getString(key));
+                    break;
+                case Number:
+                    bundle.putDouble(key, map.getDouble(key));
+                    break;
+                case Boolean:
+                    bundle.putBoolean(key, map.getBoolean(key));
+                    break;
+                case Map:
+                    bundle.putBundle(key, addMapToBundle(map.getMap(key), new Bundle()));
+                    break;
+                case Array:
+                    putArray(key, map.getArray(key), bundle);
+                    break;
+                default:
+                    break;
+            }
         }
-        return ret;
+        return bundle;
     }
 
-    private static String[] toStringArray(ArrayList<String> arrayList) {
-        String[] ret = new String[arrayList.size()];
-        for (int i=0; i < ret.length; i++) {
-            ret[i] = arrayList.get(i);
+    private static void putArray(String key, ReadableArray array, Bundle bundle) {
+        int size = array.size();
+        if (size == 0) {
+            bundle.putBooleanArray(key, new boolean[]{});
+            return;
+        }
+
+        ReadableType type = getArrayType(array);
+        switch (type) {
+            case String:
+                String[] strings = new String[size];
+                for (int i = 0; i < size; i++) {
+                    strings[i] = array.getString(i);
+                }
+                bundle.putStringArray(key, strings);
+                break;
+            case Number:
+                double[] numbers = new double[size];
+                for (int i = 0; i < size; i++) {
+                    numbers[i] = array.getDouble(i);
+                }
+                bundle.putDoubleArray(key, numbers);
+                break;
+            case Boolean:
+                boolean[] booleans = new boolean[size];
+                for (int i = 0; i < size; i++) {
+                    booleans[i] = array.getBoolean(i);
+                }
+                bundle.putBooleanArray(key, booleans);
+                break;
+            case Map:
+                Bundle[] bundles = new Bundle[size];
+                for (int i = 0; i < size; i++) {
+                    bundles[i] = addMapToBundle(array.getMap(i), new Bundle());
+                }
+                bundle.putParcelableArray(key, bundles);
+                break;
+            case Array:
+                Log.w("RNNavigation", "Arrays of arrays passed in props are converted to dictionaries with indexes as keys");
+                Bundle innerArray = new Bundle();
+                for (int i = 0; i < size; i++) {
+                    putArray(String.valueOf(i), array.getArray(i), innerArray);
+                }
+                bundle.putParcelable(key, innerArray);
+                break;
+            default:
+                break;
         }
-        return ret;
     }
 
+    private static ReadableType getArrayType(ReadableArray array) {
+        ReadableType type = array.getType(0);
+        for (int i = 1; i < array.size(); i++) {
+            if (array.getType(i) != type) {
+                throw new IllegalArgumentException("Cannot pass array of multiple types via props");
+            }
+        }
+        return type;
+    }
 }
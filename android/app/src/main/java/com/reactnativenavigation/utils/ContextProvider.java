@@ -1,5 +1,8 @@
 package com.reactnativenavigation.utils;
 
+import android.app.Activity;
+import android.content.Context;
+import android.content.ContextWrapper;
 import android.support.annotation.Nullable;
 
 import com.reactnativenavigation.activities.BaseReactActivity;
@@ -25,6 +28,20 @@ public class ContextProvider {
         return sActivityWR != null ? sActivityWR.get() : null;
     }
 
+    /**
+     * Returns the activity {@code context} belongs to, unwrapping any {@link ContextWrapper}s such as the
+     * ones views inflated by {@link ShellInflater} are created with, or {@code null} if there is none.
+     */
+    public static @Nullable Activity getActivity(Context context) {
+        while (context instanceof ContextWrapper) {
+            if (context instanceof Activity) {
+                return (Activity) context;
+            }
+            context = ((ContextWrapper) context).getBaseContext();
+        }
+        return null;
+    }
+
     public static void clearActivityContext() {
         if (sActivityWR != null) {
             sActivityWR.clear();
@@ -0,0 +1,180 @@
+package com.reactnativenavigation.utils;
+
+import android.content.Context;
+import android.content.res.AssetManager;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Rect;
+import android.support.annotation.Nullable;
+import android.util.DisplayMetrics;
+import android.util.Log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolves navigation icons packed at build time by the {@code generateNavigationIconAtlas} Gradle task.
+ * The index is read once and the atlas is decoded once, icons are then cut out of the atlas as regions.
+ * <p>The index is read as a stream, since the app's aapt compresses it regardless of the library's
+ * aaptOptions, which rules out {@link AssetManager#openFd}.
+ */
+public class IconAtlas {
+    private static final String TAG = "IconAtlas";
+    private static final String ATLAS_PREFIX = "rnn_icons_";
+    private static final int INDEX_MAGIC = 0x524e4e41;
+    private static final int INDEX_VERSION = 1;
+    private static final String[] DENSITY_NAMES = {"mdpi", "hdpi", "xhdpi", "xxhdpi", "xxxhdpi"};
+    private static final int[] DENSITIES = {
+            DisplayMetrics.DENSITY_MEDIUM,
+            DisplayMetrics.DENSITY_HIGH,
+            DisplayMetrics.DENSITY_XHIGH,
+            DisplayMetrics.DENSITY_XXHIGH,
+            DisplayMetrics.DENSITY_XXXHIGH
+    };
+    private static IconAtlas sInstance;
+
+    private final AssetManager mAssets;
+    private final Map<String, Rect> mRegions;
+    private final String mAtlasAsset;
+    private Bitmap mAtlas;
+
+    private IconAtlas(AssetManager assets, String density, Map<String, Rect> regions) {
+        mAssets = assets;
+        mAtlasAsset = density != null ? ATLAS_PREFIX + density + ".png" : null;
+        mRegions = regions;
+    }
+
+    public static synchronized IconAtlas getInstance(Context context) {
+        if (sInstance == null) {
+            sInstance = load(context);
+        }
+        return sInstance;
+    }
+
+    public boolean contains(String name) {
+        return mRegions.containsKey(name);
+    }
+
+    /**
+     * @param name Icon name, as declared in {@code navigationIcons}
+     * @param dimensions The requested icon dimensions, or -1 to use the size the icon was packed with
+     * @return The icon bitmap or {@code null} if the icon isn't packed in the atlas
+     */
+    @Nullable
+    public Bitmap getIcon(String name, int dimensions) {
+        Rect region = mRegions.get(name);
+        if (region == null) {
+            return null;
+        }
+
+        Bitmap atlas = getAtlas();
+        if (atlas == null) {
+            return null;
+        }
+
+        Bitmap icon = Bitmap.createBitmap(atlas, region.left, region.top, region.width(), region.height());
+        if (dimensions > 0 && (icon.getWidth() != dimensions || icon.getHeight() != dimensions)) {
+            icon = Bitmap.createScaledBitmap(icon, dimensions, dimensions, true);
+        }
+        return icon;
+    }
+
+    private synchronized Bitmap getAtlas() {
+        if (mAtlas == null && mAtlasAsset != null) {
+            InputStream stream = null;
+            try {
+                stream = mAssets.open(mAtlasAsset);
+                mAtlas = BitmapFactory.decodeStream(stream);
+            } catch (IOException e) {
+                Log.w(TAG, "Could not decode icon atlas " + mAtlasAsset, e);
+            } finally {
+                if (stream != null) {
+                    try {
+                        stream.close();
+                    } catch (IOException e) {
+                        // Ignore
+                    }
+                }
+            }
+        }
+        return mAtlas;
+    }
+
+    private static IconAtlas load(Context context) {
+        AssetManager assets = context.getApplicationContext().getAssets();
+        int deviceDensity = context.getResources().getDisplayMetrics().densityDpi;
+
+        // Prefer the smallest density which is larger than the device density, then fall back to smaller ones
+        int start = 0;
+        while (start < DENSITIES.length - 1 && DENSITIES[start] < deviceDensity) {
+            start++;
+        }
+        for (int i = start; i >= 0; i--) {
+            Map<String, Rect> regions = readIndex(assets, ATLAS_PREFIX + DENSITY_NAMES[i] + ".idx");
+            if (regions != null) {
+                return new IconAtlas(assets, DENSITY_NAMES[i], regions);
+            }
+        }
+        for (int i = start + 1; i < DENSITIES.length; i++) {
+            Map<String, Rect> regions = readIndex(assets, ATLAS_PREFIX + DENSITY_NAMES[i] + ".idx");
+            if (regions != null) {
+                return new IconAtlas(assets, DENSITY_NAMES[i], regions);
+            }
+        }
+        return new IconAtlas(assets, null, Collections.<String, Rect>emptyMap());
+    }
+
+    @Nullable
+    private static Map<String, Rect> readIndex(AssetManager assets, String indexAsset) {
+        InputStream stream;
+        try {
+            stream = assets.open(indexAsset);
+        } catch (IOException e) {
+            // Atlas wasn't generated for this density
+            return null;
+        }
+
+        try {
+            ByteArrayOutputStream index = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                index.write(buffer, 0, read);
+            }
+            return parseIndex(ByteBuffer.wrap(index.toByteArray()));
+        } catch (Exception e) {
+            Log.w(TAG, "Could not read icon atlas index " + indexAsset, e);
+            return null;
+        } finally {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                // Ignore
+            }
+        }
+    }
+
+    private static Map<String, Rect> parseIndex(ByteBuffer index) throws IOException {
+        if (index.getInt() != INDEX_MAGIC || index.getInt() != INDEX_VERSION) {
+            throw new IOException("Unsupported icon atlas index");
+        }
+
+        int count = index.getInt();
+        Map<String, Rect> regions = new HashMap<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] name = new byte[index.getShort() & 0xffff];
+            index.get(name);
+            int x = index.getInt();
+            int y = index.getInt();
+            int width = index.getInt();
+            int height = index.getInt();
+            regions.put(new String(name, "UTF-8"), new Rect(x, y, x + width, y + height));
+        }
+        return Collections.unmodifiableMap(regions);
+    }
+}
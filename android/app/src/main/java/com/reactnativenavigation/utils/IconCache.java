@@ -0,0 +1,300 @@
+package com.reactnativenavigation.utils;
+
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.ColorInt;
+import android.support.annotation.Nullable;
+import android.util.Log;
+import android.util.LruCache;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Two tier cache for navigation icons used by {@link IconUtils}.
+ * <p>The memory tier holds ready to use (scaled and tinted) drawables keyed by source, requested size
+ * and tint. The disk tier holds decoded, already scaled bitmaps keyed by source, requested size and
+ * install, so tinting a cached icon with a different color doesn't require decoding it again, and icons
+ * replaced by an update aren't served from the cache.
+ */
+public class IconCache {
+    private static final String TAG = "IconCache";
+    private static final String DISK_CACHE_DIR = "rnn_icons";
+    private static final int MEMORY_CACHE_DIVIDER = 16;
+    private static final long MAX_DISK_CACHE_SIZE = 10 * 1024 * 1024;
+    private static IconCache sInstance;
+
+    private final LruCache<String, Entry> mMemoryCache;
+    private final File mDiskCacheDir;
+    // Changes whenever the app is installed or updated, bundled icons may have changed
+    private final long mInstallVersion;
+    private final AtomicInteger mMemoryHits = new AtomicInteger();
+    private final AtomicInteger mMemoryMisses = new AtomicInteger();
+    private final AtomicInteger mMemoryEvictions = new AtomicInteger();
+    private final AtomicInteger mDiskHits = new AtomicInteger();
+    private final AtomicInteger mDiskMisses = new AtomicInteger();
+    private final AtomicInteger mDiskEvictions = new AtomicInteger();
+
+    private static class Entry {
+        final Drawable.ConstantState state;
+        final int byteCount;
+
+        Entry(Drawable.ConstantState state, int byteCount) {
+            this.state = state;
+            this.byteCount = byteCount;
+        }
+    }
+
+    private IconCache(Context context) {
+        int maxBytes = (int) (Runtime.getRuntime().maxMemory() / MEMORY_CACHE_DIVIDER);
+        mMemoryCache = new LruCache<String, Entry>(maxBytes) {
+            @Override
+            protected int sizeOf(String key, Entry entry) {
+                return entry.byteCount;
+            }
+
+            @Override
+            protected void entryRemoved(boolean evicted, String key, Entry oldValue, Entry newValue) {
+                if (evicted) {
+                    mMemoryEvictions.incrementAndGet();
+                }
+            }
+        };
+        mDiskCacheDir = new File(context.getApplicationContext().getCacheDir(), DISK_CACHE_DIR);
+        mInstallVersion = getInstallVersion(context);
+    }
+
+    public static synchronized IconCache getInstance(Context context) {
+        if (sInstance == null) {
+            sInstance = new IconCache(context);
+        }
+        return sInstance;
+    }
+
+    /**
+     * Returns a new drawable for the cached icon, or {@code null} if the icon isn't in the memory tier.
+     * The returned drawable is mutated so callers can't affect other users of the same icon.
+     */
+    @Nullable
+    public Drawable get(Resources resources, String source, int dimensions, @Nullable @ColorInt Integer tint) {
+        Entry entry = mMemoryCache.get(getMemoryKey(source, dimensions, tint));
+        if (entry == null) {
+            mMemoryMisses.incrementAndGet();
+            return null;
+        }
+        mMemoryHits.incrementAndGet();
+        return entry.state.newDrawable(resources).mutate();
+    }
+
+    /**
+     * Tints {@code icon} if needed and stores it in the memory tier.
+     * @return A drawable which can be safely handed to views
+     */
+    public Drawable put(Resources resources, String source, int dimensions, @Nullable @ColorInt Integer tint,
+                        Drawable icon) {
+        if (tint != null) {
+            ImageUtils.tint(icon, tint);
+        }
+        Drawable.ConstantState state = icon.getConstantState();
+        if (state == null) {
+            return icon;
+        }
+        mMemoryCache.put(getMemoryKey(source, dimensions, tint), new Entry(state, getByteCount(icon)));
+        return state.newDrawable(resources).mutate();
+    }
+
+    /**
+     * Returns the decoded bitmap stored for the given source and size, or {@code null} if the disk
+     * tier doesn't contain it. Must not be called on the UI thread.
+     */
+    @Nullable
+    public Bitmap getFromDisk(String source, int dimensions) {
+        File file = getDiskFile(source, dimensions);
+        if (file == null || !file.exists()) {
+            mDiskMisses.incrementAndGet();
+            return null;
+        }
+
+        Bitmap bitmap = BitmapFactory.decodeFile(file.getPath());
+        if (bitmap == null) {
+            // Corrupted entry, it'll be rewritten after the icon is decoded again
+            file.delete();
+            mDiskMisses.incrementAndGet();
+            return null;
+        }
+        file.setLastModified(System.currentTimeMillis());
+        mDiskHits.incrementAndGet();
+        return bitmap;
+    }
+
+    /**
+     * Stores a decoded bitmap in the disk tier. Must not be called on the UI thread.
+     */
+    public void putOnDisk(String source, int dimensions, Bitmap bitmap) {
+        File file = getDiskFile(source, dimensions);
+        if (file == null || (!mDiskCacheDir.exists() && !mDiskCacheDir.mkdirs())) {
+            return;
+        }
+
+        File tmp = new File(file.getPath() + ".tmp");
+        OutputStream out = null;
+        try {
+            out = new BufferedOutputStream(new FileOutputStream(tmp));
+            bitmap.compress(Bitmap.CompressFormat.PNG, 100, out);
+            out.close();
+            out = null;
+            if (!tmp.renameTo(file)) {
+                tmp.delete();
+            }
+        } catch (Exception e) {
+            Log.w(TAG, "Could not write icon to disk cache", e);
+            tmp.delete();
+        } finally {
+            closeQuietly(out);
+        }
+        trimDiskCache();
+    }
+
+    public void clear() {
+        mMemoryCache.evictAll();
+        File[] files = mDiskCacheDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(mMemoryHits.get(), mMemoryMisses.get(), mMemoryEvictions.get(), mMemoryCache.size(),
+                mDiskHits.get(), mDiskMisses.get(), mDiskEvictions.get());
+    }
+
+    private void trimDiskCache() {
+        File[] files = mDiskCacheDir.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        long size = 0;
+        for (File file : files) {
+            size += file.length();
+        }
+        if (size <= MAX_DISK_CACHE_SIZE) {
+            return;
+        }
+
+        // Remove least recently used files first
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File lhs, File rhs) {
+                long diff = lhs.lastModified() - rhs.lastModified();
+                return diff < 0 ? -1 : (diff > 0 ? 1 : 0);
+            }
+        });
+        for (int i = 0; i < files.length && size > MAX_DISK_CACHE_SIZE; i++) {
+            long length = files[i].length();
+            if (files[i].delete()) {
+                size -= length;
+                mDiskEvictions.incrementAndGet();
+            }
+        }
+    }
+
+    @Nullable
+    private File getDiskFile(String source, int dimensions) {
+        String name = md5(source + "@" + dimensions + "@" + mInstallVersion);
+        return name != null ? new File(mDiskCacheDir, name) : null;
+    }
+
+    /**
+     * Returns the key of the memory tier entry for the icon, which identifies a loaded icon.
+     */
+    static String getMemoryKey(String source, int dimensions, @Nullable Integer tint) {
+        return source + "@" + dimensions + "#" + (tint == null ? "" : Integer.toHexString(tint));
+    }
+
+    private static long getInstallVersion(Context context) {
+        try {
+            return context.getPackageManager().getPackageInfo(context.getPackageName(), 0).lastUpdateTime;
+        } catch (PackageManager.NameNotFoundException e) {
+            return 0;
+        }
+    }
+
+    private static int getByteCount(Drawable icon) {
+        if (icon instanceof BitmapDrawable && ((BitmapDrawable) icon).getBitmap() != null) {
+            Bitmap bitmap = ((BitmapDrawable) icon).getBitmap();
+            return bitmap.getRowBytes() * bitmap.getHeight();
+        }
+        // Not a bitmap, estimate the size of the drawable once it's rasterized
+        return Math.max(1, icon.getIntrinsicWidth() * icon.getIntrinsicHeight() * 4);
+    }
+
+    @Nullable
+    private static String md5(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(value.getBytes("UTF-8"));
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static void closeQuietly(OutputStream out) {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (Exception e) {
+                // Ignore
+            }
+        }
+    }
+
+    /**
+     * Counters of each tier. Only icons decoded from files or urls are looked up in the disk tier, bundled
+     * resources and atlas icons go straight from a memory miss to decoding.
+     */
+    public static class Stats {
+        public final int memoryHits;
+        public final int memoryMisses;
+        public final int memoryEvictions;
+        public final int memoryBytes;
+        public final int diskHits;
+        public final int diskMisses;
+        public final int diskEvictions;
+
+        public Stats(int memoryHits, int memoryMisses, int memoryEvictions, int memoryBytes,
+                     int diskHits, int diskMisses, int diskEvictions) {
+            this.memoryHits = memoryHits;
+            this.memoryMisses = memoryMisses;
+            this.memoryEvictions = memoryEvictions;
+            this.memoryBytes = memoryBytes;
+            this.diskHits = diskHits;
+            this.diskMisses = diskMisses;
+            this.diskEvictions = diskEvictions;
+        }
+
+        @Override
+        public String toString() {
+            return "IconCache.Stats{memoryHits=" + memoryHits + ", memoryMisses=" + memoryMisses +
+                   ", memoryEvictions=" + memoryEvictions + ", memoryBytes=" + memoryBytes +
+                   ", diskHits=" + diskHits + ", diskMisses=" + diskMisses + ", diskEvictions=" + diskEvictions + "}";
+        }
+    }
+}
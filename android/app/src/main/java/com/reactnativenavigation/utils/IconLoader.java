@@ -0,0 +1,214 @@
+package com.reactnativenavigation.utils;
+
+import android.content.Context;
+import android.graphics.drawable.Drawable;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.support.annotation.ColorInt;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads icons concurrently on a small thread pool and delivers each one on the UI thread as soon as
+ * it's ready, so a slow icon doesn't hold back the others. Requests for an icon which is already being
+ * loaded or prefetched join that load instead of decoding it again.
+ */
+public class IconLoader {
+    public static final long DEFAULT_TIMEOUT_MS = 10000;
+    private static final int THREAD_COUNT = 4;
+
+    private static final Handler sMainHandler = new Handler(Looper.getMainLooper());
+    private static final ExecutorService sExecutor = Executors.newFixedThreadPool(THREAD_COUNT, new ThreadFactory() {
+        private final AtomicInteger mCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    runnable.run();
+                }
+            }, "rnn-icon-loader-" + mCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+    // Loads in progress by icon cache key
+    private static final Map<String, InFlightLoad> sInFlightLoads = new HashMap<>();
+
+    /**
+     * Interface used to receive a loaded icon on the UI thread.
+     */
+    public interface OnIconLoadedListener {
+        /**
+         * @param icon The loaded icon, or {@code null} if it couldn't be loaded or the load timed out. Icons
+         *             arriving after a timeout are delivered in a second call.
+         */
+        void onIconLoaded(@Nullable Drawable icon);
+    }
+
+    public static void load(Context ctx, String iconSource, int dimensions, @Nullable @ColorInt Integer tint,
+                            OnIconLoadedListener listener) {
+        load(ctx, iconSource, dimensions, tint, DEFAULT_TIMEOUT_MS, listener);
+    }
+
+    /**
+     * Loads the icon in the background and delivers it to {@code listener} on the UI thread. Icons which are
+     * already in the memory cache are delivered synchronously. Must be called on the UI thread.
+     * @param timeoutMs Time after which {@code listener} receives {@code null}, so callers can go on with a
+     *                  placeholder. The load carries on, and if it succeeds the icon is delivered again.
+     */
+    public static void load(Context ctx, final String iconSource, final int dimensions,
+                            @Nullable @ColorInt final Integer tint, long timeoutMs,
+                            final OnIconLoadedListener listener) {
+        if (iconSource == null) {
+            listener.onIconLoaded(null);
+            return;
+        }
+
+        Drawable cached = IconUtils.getCachedIcon(ctx, iconSource, dimensions, tint);
+        if (cached != null) {
+            listener.onIconLoaded(cached);
+            return;
+        }
+
+        final Delivery delivery = new Delivery(listener);
+        start(ctx, iconSource, dimensions, tint, delivery);
+        delivery.timeout = new Runnable() {
+            @Override
+            public void run() {
+                delivery.timeOut();
+            }
+        };
+        sMainHandler.postDelayed(delivery.timeout, timeoutMs);
+    }
+
+    /**
+     * Loads the icon into the icon cache in the background, unless it's already cached.
+     */
+    public static void prefetch(Context ctx, final String iconSource, final int dimensions,
+                                @Nullable @ColorInt final Integer tint) {
+        if (iconSource == null || IconUtils.getCachedIcon(ctx, iconSource, dimensions, tint) != null) {
+            return;
+        }
+
+        start(ctx, iconSource, dimensions, tint, null);
+    }
+
+    /**
+     * Starts loading the icon unless it's already being loaded.
+     * @param delivery Receives the icon once loaded, or {@code null} for prefetches
+     */
+    private static void start(Context ctx, String iconSource, int dimensions, @Nullable Integer tint,
+                                      @Nullable Delivery delivery) {
+        String key = IconCache.getMemoryKey(iconSource, dimensions, tint);
+        synchronized (sInFlightLoads) {
+            InFlightLoad load = sInFlightLoads.get(key);
+            if (load == null) {
+                load = new InFlightLoad(key, ctx.getApplicationContext(), iconSource, dimensions, tint);
+                sInFlightLoads.put(key, load);
+                sExecutor.execute(load);
+            }
+            if (delivery != null) {
+                load.deliveries.add(delivery);
+            } else {
+                load.prefetched = true;
+            }
+        }
+    }
+
+    private static class InFlightLoad implements Runnable {
+        private final String mKey;
+        private final Context mAppContext;
+        private final String mIconSource;
+        private final int mDimensions;
+        @Nullable private final Integer mTint;
+        // Guarded by sInFlightLoads
+        final List<Delivery> deliveries = new ArrayList<>();
+        boolean prefetched;
+
+        InFlightLoad(String key, Context appContext, String iconSource, int dimensions, @Nullable Integer tint) {
+            mKey = key;
+            mAppContext = appContext;
+            mIconSource = iconSource;
+            mDimensions = dimensions;
+            mTint = tint;
+        }
+
+        @Override
+        public void run() {
+            Drawable icon = IconUtils.loadIcon(mAppContext, mIconSource, mDimensions, mTint);
+            List<Delivery> waiting;
+            synchronized (sInFlightLoads) {
+                sInFlightLoads.remove(mKey);
+                waiting = new ArrayList<>(deliveries);
+                deliveries.clear();
+            }
+            for (int i = 0; i < waiting.size(); i++) {
+                // Each view gets a drawable of its own
+                waiting.get(i).post(i == 0 ? icon : newDrawable(icon));
+            }
+        }
+
+        @Nullable
+        private Drawable newDrawable(@Nullable Drawable icon) {
+            Drawable.ConstantState state = icon != null ? icon.getConstantState() : null;
+            return state != null ? state.newDrawable(mAppContext.getResources()).mutate() : icon;
+        }
+    }
+
+    /**
+     * Delivers a load to one listener. Only used on the UI thread, except for {@link #post}.
+     */
+    private static class Delivery {
+        private final OnIconLoadedListener mListener;
+        private boolean mDelivered;
+        private boolean mTimedOut;
+        volatile Runnable timeout;
+
+        Delivery(OnIconLoadedListener listener) {
+            mListener = listener;
+        }
+
+        void post(final Drawable icon) {
+            sMainHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    deliver(icon);
+                }
+            });
+        }
+
+        void deliver(@Nullable Drawable icon) {
+            if (!mDelivered) {
+                mDelivered = true;
+                if (timeout != null) {
+                    sMainHandler.removeCallbacks(timeout);
+                }
+                mListener.onIconLoaded(icon);
+            } else if (mTimedOut && icon != null) {
+                // The listener went on with a placeholder, replace it
+                mTimedOut = false;
+                mListener.onIconLoaded(icon);
+            }
+        }
+
+        void timeOut() {
+            if (!mDelivered) {
+                mDelivered = true;
+                mTimedOut = true;
+                mListener.onIconLoaded(null);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.reactnativenavigation.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.support.annotation.ColorInt;
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Keeps track of the navigation icons loaded during the current run and persists them, so that on the next
+ * launch they can be decoded into the {@link IconCache} while the JS bundle is still loading.
+ */
+public class IconManifest {
+    private static final String TAG = "IconManifest";
+    private static final String PREFS_NAME = "rnn_icon_manifest";
+    // JSON array of entries, in the order the icons were first loaded
+    private static final String KEY_ICON_LIST = "iconList";
+    private static final String SEPARATOR = "|";
+    private static final int MAX_ICONS = 32;
+    private static IconManifest sInstance;
+
+    private final SharedPreferences mPrefs;
+    private final Set<String> mIcons = new LinkedHashSet<>();
+
+    private IconManifest(Context context) {
+        mPrefs = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    public static synchronized IconManifest getInstance(Context context) {
+        if (sInstance == null) {
+            sInstance = new IconManifest(context);
+        }
+        return sInstance;
+    }
+
+    /**
+     * Decodes the icons recorded during the previous run into the icon cache in the background, in the
+     * order they were first loaded.
+     */
+    public void warmUp(Context context) {
+        JSONArray icons;
+        try {
+            icons = new JSONArray(mPrefs.getString(KEY_ICON_LIST, "[]"));
+        } catch (JSONException e) {
+            Log.w(TAG, "Ignoring malformed icon manifest", e);
+            return;
+        }
+        for (int i = 0; i < icons.length(); i++) {
+            String entry = icons.optString(i);
+            String[] parts = entry.split("\\" + SEPARATOR, 3);
+            if (parts.length != 3) {
+                continue;
+            }
+            try {
+                int dimensions = Integer.parseInt(parts[0]);
+                Integer tint = parts[1].isEmpty() ? null : (int) Long.parseLong(parts[1], 16);
+                IconLoader.prefetch(context, parts[2], dimensions, tint);
+            } catch (NumberFormatException e) {
+                Log.w(TAG, "Ignoring malformed icon manifest entry " + entry);
+            }
+        }
+    }
+
+    /**
+     * Records an icon loaded during this run. Safe to call from any thread.
+     */
+    public void record(String iconSource, int dimensions, @Nullable @ColorInt Integer tint) {
+        String entry = dimensions + SEPARATOR + (tint == null ? "" : Integer.toHexString(tint)) + SEPARATOR + iconSource;
+        synchronized (mIcons) {
+            if (!mIcons.add(entry)) {
+                return;
+            }
+            if (mIcons.size() > MAX_ICONS) {
+                Iterator<String> oldest = mIcons.iterator();
+                oldest.next();
+                oldest.remove();
+            }
+            // apply() writes to disk asynchronously
+            mPrefs.edit()
+                    .putString(KEY_ICON_LIST, new JSONArray(mIcons).toString())
+                    .apply();
+        }
+    }
+}
@@ -1,51 +1,118 @@
 package com.reactnativenavigation.utils;
 
 import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.content.res.AssetManager;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
+import android.graphics.Color;
 import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
+import android.graphics.drawable.ShapeDrawable;
 import android.net.Uri;
+import android.os.Build;
+import android.support.annotation.ColorInt;
+import android.support.annotation.Nullable;
+import android.support.v4.content.ContextCompat;
 
 import com.reactnativenavigation.BuildConfig;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.net.URLConnection;
 
 /**
  * Created by yedidyak on 29/05/2016.
  */
 public class IconUtils {
     public static final String LOCAL_RESOURCE_URI_SCHEME = "res";
+    private static final String ASSET_URI_SCHEME = "asset";
+    private static final String FILE_URI_SCHEME = "file";
+    private static final String ANDROID_ASSET_PATH = "/android_asset/";
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final int CONNECT_TIMEOUT_MS = 5000;
+    private static final int READ_TIMEOUT_MS = 5000;
     private static ResourceDrawableIdHelper sResDrawableIdHelper = new ResourceDrawableIdHelper();
 
     public static Drawable getIcon(Context ctx, String iconSource) {
         return getIcon(ctx, iconSource, -1);
     }
 
+    public static Drawable getIcon(Context ctx, String iconSource, int dimensions) {
+        return getIcon(ctx, iconSource, dimensions, null);
+    }
+
     /**
      * @param iconSource Icon source. In release builds this would be a path in assets, In debug it's
      *                   a url and the image needs to be decoded from input stream.
      * @param dimensions The requested icon dimensions
+     * @param tint Optional color the icon is tinted with
      */
-    public static Drawable getIcon(Context ctx, String iconSource, int dimensions) {
+    public static Drawable getIcon(Context ctx, String iconSource, int dimensions, @Nullable @ColorInt Integer tint) {
         if (iconSource == null) {
             return null;
         }
 
+        Drawable cached = getCachedIcon(ctx, iconSource, dimensions, tint);
+        return cached != null ? cached : loadIcon(ctx, iconSource, dimensions, tint);
+    }
+
+    /**
+     * Returns the icon if it's already in the memory cache, without doing any I/O. Safe to call on the UI thread.
+     */
+    @Nullable
+    public static Drawable getCachedIcon(Context ctx, String iconSource, int dimensions, @Nullable @ColorInt Integer tint) {
+        return IconCache.getInstance(ctx).get(ctx.getResources(), iconSource, dimensions, tint);
+    }
+
+    /**
+     * Returns a transparent drawable used in place of an icon which is still loading.
+     */
+    public static Drawable createPlaceholder(int dimensions) {
+        ShapeDrawable placeholder = new ShapeDrawable();
+        placeholder.getPaint().setColor(Color.TRANSPARENT);
+        placeholder.setIntrinsicWidth(dimensions);
+        placeholder.setIntrinsicHeight(dimensions);
+        return placeholder;
+    }
+
+    /**
+     * Resolves and decodes the icon, bypassing the memory cache lookup, and stores the result in the cache.
+     */
+    static Drawable loadIcon(Context ctx, String iconSource, int dimensions, @Nullable @ColorInt Integer tint) {
+        IconCache cache = IconCache.getInstance(ctx);
         try {
             Drawable icon;
+            Bitmap packed = IconAtlas.getInstance(ctx).getIcon(iconSource, dimensions);
+            if (packed != null) {
+                icon = new BitmapDrawable(ctx.getResources(), packed);
+                IconManifest.getInstance(ctx).record(iconSource, dimensions, tint);
+                return cache.put(ctx.getResources(), iconSource, dimensions, tint, icon);
+            }
+
             Uri iconUri = getIconUri(ctx, iconSource);
 
             if (LOCAL_RESOURCE_URI_SCHEME.equals(iconUri.getScheme())) {
-                icon = sResDrawableIdHelper.getResourceDrawable(ctx, iconSource);
+                icon = getResourceDrawable(ctx, iconUri);
             } else {
-                URL url = new URL(iconUri.toString());
-                Bitmap bitmap = BitmapFactory.decodeStream(url.openStream());
-                bitmap = dimensions > 0 ?
-                        Bitmap.createScaledBitmap(bitmap, dimensions, dimensions, false) : bitmap;
+                Bitmap bitmap = cache.getFromDisk(iconSource, dimensions);
+                if (bitmap == null) {
+                    bitmap = decodeBitmap(iconUri, readIconData(ctx, iconUri), dimensions);
+                    cache.putOnDisk(iconSource, dimensions, bitmap);
+                }
                 icon = new BitmapDrawable(ctx.getResources(), bitmap);
             }
-            return icon;
+            if (icon == null) {
+                return null;
+            }
+            IconManifest.getInstance(ctx).record(iconSource, dimensions, tint);
+            return cache.put(ctx.getResources(), iconSource, dimensions, tint, icon);
         } catch (Exception e) {
             if (BuildConfig.DEBUG) {
                 e.printStackTrace();
@@ -54,6 +121,162 @@ public class IconUtils {
         return null;
     }
 
+    /**
+     * Resource uris already hold the drawable id, either as their path ({@code res:123}) or authority
+     * ({@code res://123}), so there is no need to resolve the name again.
+     */
+    @Nullable
+    private static Drawable getResourceDrawable(Context ctx, Uri iconUri) {
+        String id = iconUri.getLastPathSegment() != null ? iconUri.getLastPathSegment() : iconUri.getAuthority();
+        int resId = id != null ? Integer.parseInt(id) : 0;
+        return resId > 0 ? ContextCompat.getDrawable(ctx, resId) : null;
+    }
+
+    /**
+     * Reads the encoded icon. Assets and files, which is where release builds keep their icons, are read
+     * directly; only remote uris go through {@link URLConnection}.
+     */
+    private static byte[] readIconData(Context ctx, Uri iconUri) throws IOException {
+        String scheme = iconUri.getScheme();
+        String path = iconUri.getPath();
+        if (ASSET_URI_SCHEME.equals(scheme)) {
+            return readAsset(ctx.getAssets(), trimLeadingSlash(path != null ? path : iconUri.getSchemeSpecificPart()));
+        } else if (FILE_URI_SCHEME.equals(scheme) && path != null) {
+            if (path.startsWith(ANDROID_ASSET_PATH)) {
+                return readAsset(ctx.getAssets(), path.substring(ANDROID_ASSET_PATH.length()));
+            }
+            return readFile(new File(path));
+        }
+
+        URLConnection connection = new URL(iconUri.toString()).openConnection();
+        connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+        connection.setReadTimeout(READ_TIMEOUT_MS);
+        return readFully(connection.getInputStream());
+    }
+
+    private static byte[] readAsset(AssetManager assets, String path) throws IOException {
+        AssetFileDescriptor fd;
+        try {
+            // Uncompressed assets can be read straight from the apk with a known length
+            fd = assets.openFd(path);
+        } catch (FileNotFoundException e) {
+            return readFully(assets.open(path, AssetManager.ACCESS_STREAMING));
+        }
+
+        try {
+            long length = fd.getLength();
+            return length >= 0 ? readFully(fd.createInputStream(), (int) length) : readFully(fd.createInputStream());
+        } finally {
+            fd.close();
+        }
+    }
+
+    private static byte[] readFile(File file) throws IOException {
+        return readFully(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE), (int) file.length());
+    }
+
+    private static String trimLeadingSlash(String path) {
+        return path != null && path.startsWith("/") ? path.substring(1) : path;
+    }
+
+    /**
+     * Decodes the icon close to {@code dimensions} and scales it to exactly that size, unless it's not positive.
+     */
+    static Bitmap decodeBitmap(Uri iconUri, byte[] data, int dimensions) throws IOException {
+        // Read the bounds first so the image can be decoded straight to (roughly) the requested size
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(data, 0, data.length, options);
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            throw new IOException("Could not decode icon " + iconUri);
+        }
+
+        int sampleSize = dimensions > 0 ? calculateInSampleSize(options.outWidth, options.outHeight, dimensions) : 1;
+        int width = (options.outWidth + sampleSize - 1) / sampleSize;
+        int height = (options.outHeight + sampleSize - 1) / sampleSize;
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = sampleSize;
+        options.inPreferredConfig = getPreferredConfig(options.outMimeType);
+        options.inMutable = true;
+        if (sampleSize == 1 || Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+            options.inBitmap = BitmapPool.getInstance().get(width, height, options.inPreferredConfig);
+        }
+
+        Bitmap bitmap;
+        try {
+            bitmap = BitmapFactory.decodeByteArray(data, 0, data.length, options);
+        } catch (IllegalArgumentException e) {
+            // Pooled bitmap can't be reused for this image
+            options.inBitmap = null;
+            bitmap = BitmapFactory.decodeByteArray(data, 0, data.length, options);
+        }
+        if (bitmap == null) {
+            throw new IOException("Could not decode icon " + iconUri);
+        }
+
+        if (dimensions <= 0 || (bitmap.getWidth() == dimensions && bitmap.getHeight() == dimensions)) {
+            return bitmap;
+        }
+        Bitmap scaled = Bitmap.createScaledBitmap(bitmap, dimensions, dimensions, true);
+        if (scaled != bitmap) {
+            BitmapPool.getInstance().put(bitmap);
+        }
+        return scaled;
+    }
+
+    /**
+     * Returns the largest power of two sample size which keeps both sides of the decoded image
+     * larger than or equal to {@code dimensions}.
+     */
+    static int calculateInSampleSize(int width, int height, int dimensions) {
+        int sampleSize = 1;
+        while (width / (sampleSize * 2) >= dimensions && height / (sampleSize * 2) >= dimensions) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    /**
+     * Formats which can't contain an alpha channel are decoded to the cheaper RGB_565 config.
+     */
+    private static Bitmap.Config getPreferredConfig(String mimeType) {
+        return "image/jpeg".equals(mimeType) ? Bitmap.Config.RGB_565 : Bitmap.Config.ARGB_8888;
+    }
+
+    /**
+     * Reads exactly {@code length} bytes, which avoids growing and copying the buffer when the size is known.
+     */
+    private static byte[] readFully(InputStream stream, int length) throws IOException {
+        try {
+            byte[] data = new byte[length];
+            int offset = 0;
+            while (offset < length) {
+                int read = stream.read(data, offset, length - offset);
+                if (read == -1) {
+                    throw new IOException("Unexpected end of stream");
+                }
+                offset += read;
+            }
+            return data;
+        } finally {
+            stream.close();
+        }
+    }
+
+    private static byte[] readFully(InputStream stream) throws IOException {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            stream.close();
+        }
+    }
+
     private static Uri getIconUri(Context context, String iconSource) {
         Uri ret = null;
         if (iconSource != null) {
@@ -3,39 +3,87 @@ package com.reactnativenavigation.utils;// Copyright 2004-present Facebook. All
 import android.content.Context;
 import android.graphics.drawable.Drawable;
 import android.net.Uri;
+import android.text.TextUtils;
+import android.util.Log;
 
 import com.facebook.common.util.UriUtil;
+import com.reactnativenavigation.R;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.Nullable;
 
 /**
  * Helper class for obtaining information about local images.
+ * <p>Drawable ids are resolved from the app's {@code R.drawable} class, in the package the consuming app
+ * variant declares as {@code R.string.rnn_resource_package}. Its fields are read once into an immutable table,
+ * so lookups are safe to call from any thread and don't lock. {@link android.content.res.Resources#getIdentifier}
+ * is only used as a fallback for names missing from that class (e.g. when it was stripped by ProGuard).
  */
 public class ResourceDrawableIdHelper {
+    private static final String TAG = "ResourceDrawableIdHelper";
 
-    private Map<String, Integer> mResourceDrawableIdMap;
-
-    public ResourceDrawableIdHelper() {
-        mResourceDrawableIdMap = new HashMap<>();
-    }
+    // Published once it's complete, and never modified afterwards
+    private volatile Map<String, Integer> mGeneratedIds;
+    // Names which had to be resolved by the fallback
+    private final Map<String, Integer> mFallbackIds = new ConcurrentHashMap<>();
 
     public int getResourceDrawableId(Context context, @Nullable String name) {
         if (name == null || name.isEmpty()) {
             return 0;
         }
         name = name.toLowerCase().replace("-", "_");
-        if (mResourceDrawableIdMap.containsKey(name)) {
-            return mResourceDrawableIdMap.get(name);
+        Integer id = getGeneratedIds(context).get(name);
+        if (id == null) {
+            id = mFallbackIds.get(name);
+        }
+        if (id != null) {
+            return id;
         }
-        int id = context.getResources().getIdentifier(
+
+        int resId = context.getResources().getIdentifier(
                 name,
                 "drawable",
                 context.getPackageName());
-        mResourceDrawableIdMap.put(name, id);
-        return id;
+        mFallbackIds.put(name, resId);
+        return resId;
+    }
+
+    private Map<String, Integer> getGeneratedIds(Context context) {
+        Map<String, Integer> ids = mGeneratedIds;
+        if (ids == null) {
+            // Racing threads read the same table, so publishing through a volatile field is enough
+            ids = loadGeneratedIds(context);
+            mGeneratedIds = ids;
+        }
+        return ids;
+    }
+
+    private static Map<String, Integer> loadGeneratedIds(Context context) {
+        String resourcePackage = context.getString(R.string.rnn_resource_package);
+        if (TextUtils.isEmpty(resourcePackage)) {
+            resourcePackage = context.getPackageName();
+        }
+        try {
+            Field[] fields = Class.forName(resourcePackage + ".R$drawable").getFields();
+            Map<String, Integer> ids = new HashMap<>(fields.length * 4 / 3 + 1);
+            for (Field field : fields) {
+                if (field.getType() == int.class && Modifier.isStatic(field.getModifiers())) {
+                    ids.put(field.getName(), field.getInt(null));
+                }
+            }
+            return Collections.unmodifiableMap(ids);
+        } catch (ClassNotFoundException e) {
+            Log.d(TAG, "Generated drawable class not found, falling back to Resources.getIdentifier");
+        } catch (IllegalAccessException e) {
+            Log.w(TAG, "Could not read generated drawable ids", e);
+        }
+        return Collections.emptyMap();
     }
 
     @Nullable
@@ -0,0 +1,182 @@
+package com.reactnativenavigation.utils;
+
+import android.app.Activity;
+import android.content.ComponentName;
+import android.content.Context;
+import android.content.MutableContextWrapper;
+import android.content.pm.PackageManager;
+import android.os.Process;
+import android.support.annotation.LayoutRes;
+import android.util.Log;
+import android.util.SparseArray;
+import android.view.ContextThemeWrapper;
+import android.view.LayoutInflater;
+import android.view.View;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Inflates the layouts of activities and modals on a background thread ahead of time, so the UI thread
+ * only has to attach them. Shells are inflated with a {@link MutableContextWrapper} which is switched to
+ * the activity that obtains them, views must use {@link ContextProvider#getActivity} to reach it.
+ * <p>Like the support library's AsyncLayoutInflater, layouts which can't be inflated off the UI thread
+ * are inflated on the UI thread instead. So are layouts obtained before their background inflation finished,
+ * the UI thread never waits for it.
+ */
+public class ShellInflater {
+    private static final String TAG = "ShellInflater";
+
+    private static final ExecutorService sExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    runnable.run();
+                }
+            }, "rnn-shell-inflater");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+    private static final SparseArray<Job> sShells = new SparseArray<>();
+
+    private static class Shell {
+        final View view;
+        final MutableContextWrapper context;
+
+        Shell(View view, MutableContextWrapper context) {
+            this.view = view;
+            this.context = context;
+        }
+    }
+
+    private static class Job implements Callable<Shell> {
+        final MutableContextWrapper context;
+        final int layout;
+        private final AtomicBoolean mClaimed = new AtomicBoolean();
+        Future<Shell> future;
+
+        Job(MutableContextWrapper context, int layout) {
+            this.context = context;
+            this.layout = layout;
+        }
+
+        /**
+         * Returns whether the job wasn't started yet, in which case it never will be.
+         */
+        boolean cancelIfNotStarted() {
+            if (mClaimed.compareAndSet(false, true)) {
+                future.cancel(false);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Shell call() throws Exception {
+            if (!mClaimed.compareAndSet(false, true)) {
+                return null;
+            }
+            return new Shell(LayoutInflater.from(context).inflate(layout, null, false), context);
+        }
+    }
+
+    /**
+     * Inflates {@code layout} in the background, before the activity which displays it is created.
+     * @param activityClass The activity which will obtain the shell, its theme is used for inflation
+     */
+    public static void preinflate(Context context, @LayoutRes int layout, Class<? extends Activity> activityClass) {
+        Context appContext = context.getApplicationContext();
+        int theme;
+        try {
+            theme = appContext.getPackageManager()
+                    .getActivityInfo(new ComponentName(appContext, activityClass), 0)
+                    .getThemeResource();
+        } catch (PackageManager.NameNotFoundException e) {
+            theme = appContext.getApplicationInfo().theme;
+        }
+        preinflate(new MutableContextWrapper(new ContextThemeWrapper(appContext, theme)), layout);
+    }
+
+    /**
+     * Inflates {@code layout} in the background, for {@code activity} to display later on.
+     */
+    public static void preinflate(Activity activity, @LayoutRes int layout) {
+        preinflate(new MutableContextWrapper(activity), layout);
+    }
+
+    private static void preinflate(final MutableContextWrapper context, @LayoutRes final int layout) {
+        synchronized (sShells) {
+            if (sShells.get(layout) != null) {
+                return;
+            }
+            Job job = new Job(context, layout);
+            job.future = sExecutor.submit(job);
+            sShells.put(layout, job);
+        }
+    }
+
+    /**
+     * Returns the pre-inflated {@code layout} if it's ready, or inflates it otherwise. Shells pre-inflated
+     * before launch for the other activities are dropped, since the launch picked this one.
+     * Must be called on the UI thread.
+     */
+    public static View obtain(Activity activity, @LayoutRes int layout) {
+        Job job;
+        synchronized (sShells) {
+            job = sShells.get(layout);
+            sShells.remove(layout);
+            dropPrelaunchShells();
+        }
+
+        if (job != null && !job.cancelIfNotStarted()) {
+            if (job.future.isDone()) {
+                try {
+                    Shell shell = job.future.get();
+                    shell.context.setBaseContext(activity);
+                    return shell.view;
+                } catch (InterruptedException | ExecutionException e) {
+                    Log.w(TAG, "Could not inflate layout in the background, inflating on the UI thread", e);
+                }
+            } else {
+                Log.d(TAG, "Layout is still being inflated in the background, inflating on the UI thread");
+            }
+        }
+        return LayoutInflater.from(activity).inflate(layout, null, false);
+    }
+
+    // Guarded by sShells
+    private static void dropPrelaunchShells() {
+        for (int i = sShells.size() - 1; i >= 0; i--) {
+            Job job = sShells.valueAt(i);
+            if (!(job.context.getBaseContext() instanceof Activity)) {
+                job.cancelIfNotStarted();
+                sShells.removeAt(i);
+            }
+        }
+    }
+
+    /**
+     * Drops the shells pre-inflated for {@code activity} which it didn't obtain, cancelling the ones which
+     * aren't inflated yet.
+     */
+    public static void release(Activity activity) {
+        synchronized (sShells) {
+            for (int i = sShells.size() - 1; i >= 0; i--) {
+                Job job = sShells.valueAt(i);
+                if (job.context.getBaseContext() == activity) {
+                    job.cancelIfNotStarted();
+                    sShells.removeAt(i);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.reactnativenavigation.utils;
+
+import android.os.Build;
+import android.os.SystemClock;
+import android.os.Trace;
+import android.system.Os;
+import android.system.OsConstants;
+import android.util.Log;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.reactnativenavigation.core.RctManager;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records when each phase of a cold start is reached, from process start until the first screen is laid out.
+ * Once the first screen is displayed, the timeline is logged, handed to the registered
+ * {@link OnStartupTracedListener}s and emitted to JS as {@link #EVENT_NAME}.
+ * <p>Only the first occurrence of each mark in a process is recorded. Timestamps are
+ * {@link SystemClock#elapsedRealtime()} milliseconds.
+ */
+public class StartupTracer {
+    private static final String TAG = "StartupTracer";
+    public static final String EVENT_NAME = "RNN.startupTimeline";
+
+    public static final String PROCESS_START = "processStart";
+    public static final String ACTIVITY_CREATE = "activityCreate";
+    public static final String INSTANCE_MANAGER_CREATE_START = "instanceManagerCreateStart";
+    public static final String INSTANCE_MANAGER_CREATE_END = "instanceManagerCreateEnd";
+    public static final String REACT_CONTEXT_CREATED = "reactContextCreated";
+    public static final String START_APP_CALLED = "startAppCalled";
+    public static final String LAYOUT_ACTIVITY_CREATE = "layoutActivityCreate";
+    public static final String TAB_ICONS_READY = "tabIconsReady";
+    public static final String FIRST_SCREEN_DISPLAYED = "firstScreenDisplayed";
+
+    // Phases which begin and end on the same thread, traced as systrace sections: start mark to end mark
+    private static final Map<String, String> sTracedPhases = new HashMap<>();
+    static {
+        sTracedPhases.put(INSTANCE_MANAGER_CREATE_START, INSTANCE_MANAGER_CREATE_END);
+    }
+    // The start mark of the section open on each thread
+    private static final ThreadLocal<String> sOpenSection = new ThreadLocal<>();
+
+    private static final List<Mark> sMarks = new ArrayList<>();
+    private static final List<OnStartupTracedListener> sListeners = new CopyOnWriteArrayList<>();
+    private static boolean sFinished;
+    private static boolean sSystraceEnabled;
+
+    /**
+     * A point of the startup timeline.
+     */
+    public static class Mark {
+        public final String name;
+        public final long time;
+
+        Mark(String name, long time) {
+            this.name = name;
+            this.time = time;
+        }
+    }
+
+    /**
+     * Interface used to receive the startup timeline once the first screen is displayed.
+     */
+    public interface OnStartupTracedListener {
+        /**
+         * @param marks The recorded marks, ordered by time and starting with {@link #PROCESS_START} when
+         *              it could be determined
+         */
+        void onStartupTraced(List<Mark> marks);
+    }
+
+    public static void addListener(OnStartupTracedListener listener) {
+        sListeners.add(listener);
+    }
+
+    public static void removeListener(OnStartupTracedListener listener) {
+        sListeners.remove(listener);
+    }
+
+    /**
+     * Also emits the marks to systrace. Phases which begin and end on the same thread, such as creating the
+     * instance manager, are traced as sections from their start mark to their end mark. The other marks are
+     * traced as zero length sections, since the phases they delimit span threads.
+     */
+    public static void setSystraceEnabled(boolean enabled) {
+        sSystraceEnabled = enabled;
+    }
+
+    public static void mark(String name) {
+        long time = SystemClock.elapsedRealtime();
+        List<Mark> report = null;
+        synchronized (sMarks) {
+            if (sFinished || contains(name)) {
+                return;
+            }
+            sMarks.add(new Mark(name, time));
+            if (FIRST_SCREEN_DISPLAYED.equals(name)) {
+                sFinished = true;
+                report = createReport();
+            }
+        }
+
+        if (sSystraceEnabled && Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            trace(name);
+        }
+
+        if (report != null) {
+            publish(report);
+        }
+    }
+
+    private static void trace(String name) {
+        String openSection = sOpenSection.get();
+        if (openSection != null && name.equals(sTracedPhases.get(openSection))) {
+            sOpenSection.remove();
+            Trace.endSection();
+        } else if (sTracedPhases.containsKey(name)) {
+            sOpenSection.set(name);
+            Trace.beginSection("RNN " + name.replace("Start", ""));
+        } else {
+            Trace.beginSection("RNN " + name);
+            Trace.endSection();
+        }
+    }
+
+    private static boolean contains(String name) {
+        for (Mark mark : sMarks) {
+            if (mark.name.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Mark> createReport() {
+        List<Mark> report = new ArrayList<>(sMarks.size() + 1);
+        long processStart = getProcessStartTime();
+        if (processStart > 0) {
+            report.add(new Mark(PROCESS_START, processStart));
+        }
+        report.addAll(sMarks);
+        return Collections.unmodifiableList(report);
+    }
+
+    private static void publish(List<Mark> report) {
+        long start = report.get(0).time;
+        long previous = start;
+        WritableArray marks = Arguments.createArray();
+        for (Mark mark : report) {
+            Log.i(TAG, String.format("%-28s +%5dms (%5dms since previous)", mark.name, mark.time - start, mark.time - previous));
+            WritableMap entry = Arguments.createMap();
+            entry.putString("name", mark.name);
+            entry.putDouble("time", mark.time - start);
+            entry.putDouble("duration", mark.time - previous);
+            marks.pushMap(entry);
+            previous = mark.time;
+        }
+
+        for (OnStartupTracedListener listener : sListeners) {
+            listener.onStartupTraced(report);
+        }
+
+        WritableMap params = Arguments.createMap();
+        params.putArray("marks", marks);
+        RctManager.getInstance().sendGlobalEvent(EVENT_NAME, params);
+    }
+
+    /**
+     * Returns the time the process was started at, read from /proc, or -1 if it's not available.
+     */
+    private static long getProcessStartTime() {
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader(new FileReader("/proc/self/stat"));
+            String stat = reader.readLine();
+            // The command name may contain spaces, fields are counted from the closing parenthesis
+            String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+            long startTicks = Long.parseLong(fields[19]);
+            long ticksPerSecond = Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP ?
+                    Os.sysconf(OsConstants._SC_CLK_TCK) : 100;
+            return startTicks * 1000 / ticksPerSecond;
+        } catch (Exception e) {
+            Log.w(TAG, "Could not read process start time", e);
+            return -1;
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    // Ignore
+                }
+            }
+        }
+    }
+}
@@ -34,14 +34,14 @@ public class StyleHelper {
     public static void setWindowStyle(Window window, Context context, Screen screen) {
         if (SdkSupports.lollipop()) {
             final int black = ContextCompat.getColor(context, android.R.color.black);
-            if (screen.statusBarColor != null) {
-                window.setStatusBarColor(screen.statusBarColor);
+            if (screen.style.statusBarColor != null) {
+                window.setStatusBarColor(screen.style.statusBarColor);
             } else {
                 window.setStatusBarColor(black);
             }
 
-            if (screen.navigationBarColor != null) {
-                window.setNavigationBarColor(screen.navigationBarColor);
+            if (screen.style.navigationBarColor != null) {
+                window.setNavigationBarColor(screen.style.navigationBarColor);
             } else {
                 window.setNavigationBarColor(black);
             }
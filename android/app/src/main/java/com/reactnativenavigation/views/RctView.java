@@ -7,9 +7,10 @@ import android.widget.FrameLayout;
 import com.facebook.react.ReactInstanceManager;
 import com.facebook.react.ReactRootView;
 import com.reactnativenavigation.activities.BaseReactActivity;
+import com.reactnativenavigation.core.PropsStore;
 import com.reactnativenavigation.core.objects.Screen;
-import com.reactnativenavigation.utils.BridgeUtils;
 import com.reactnativenavigation.utils.ReflectionUtils;
+import com.reactnativenavigation.utils.StartupTracer;
 
 /**
  * Created by guyc on 10/03/16.
@@ -17,6 +18,8 @@ import com.reactnativenavigation.utils.ReflectionUtils;
 public class RctView extends FrameLayout {
 
     private ReactRootView mReactRootView;
+    // Removed once the root view was laid out for the first time, or removed before that
+    private ViewTreeObserver.OnGlobalLayoutListener mOnFirstLayoutListener;
 
     /**
      * Interface used to run some code when the {@link ReactRootView} is visible.
@@ -42,25 +45,45 @@ public class RctView extends FrameLayout {
         passProps.putString(Screen.KEY_SCREEN_INSTANCE_ID, screen.screenInstanceId);
         passProps.putString(Screen.KEY_NAVIGATOR_ID, screen.navigatorId);
         passProps.putString(Screen.KEY_NAVIGATOR_EVENT_ID, screen.navigatorEventId);
-        if (screen.passedProps != null) {
-            BridgeUtils.addMapToBundle(screen.passedProps, passProps);
+        Bundle sharedProps = PropsStore.getInstance().get(screen.passPropsKey);
+        if (sharedProps != null) {
+            passProps.putAll(sharedProps);
+        }
+        Bundle screenProps = screen.getPassedProps();
+        if (screenProps != null) {
+            // Props were converted once when the screen was created, every mount reuses them
+            passProps.putAll(screenProps);
         }
 
         mReactRootView.startReactApplication(rctInstanceManager, componentName, passProps);
 
-        if (onDisplayedListener != null) {
-            mReactRootView.getViewTreeObserver().addOnGlobalLayoutListener(new ViewTreeObserver.OnGlobalLayoutListener() {
-                @Override
-                public void onGlobalLayout() {
+        mOnFirstLayoutListener = new ViewTreeObserver.OnGlobalLayoutListener() {
+            @Override
+            public void onGlobalLayout() {
+                removeOnFirstLayoutListener();
+                StartupTracer.mark(StartupTracer.FIRST_SCREEN_DISPLAYED);
+                if (onDisplayedListener != null) {
                     onDisplayedListener.onDisplayed();
-                    mReactRootView.getViewTreeObserver().removeOnGlobalLayoutListener(this);
                 }
-            });
-        }
+            }
+        };
+        mReactRootView.getViewTreeObserver().addOnGlobalLayoutListener(mOnFirstLayoutListener);
 
         addView(mReactRootView);
     }
 
+    private void removeOnFirstLayoutListener() {
+        if (mOnFirstLayoutListener == null) {
+            return;
+        }
+        // The observer the listener was added to is merged into the window's one once the view is attached
+        ViewTreeObserver observer = mReactRootView.getViewTreeObserver();
+        if (observer.isAlive()) {
+            observer.removeOnGlobalLayoutListener(mOnFirstLayoutListener);
+        }
+        mOnFirstLayoutListener = null;
+    }
+
     /**
      * Must be called before view is removed from screen, but will be added again later. Setting mAttachScheduled
      * to true will prevent the component from getting unmounted once view is detached from screen.
@@ -75,6 +98,7 @@ public class RctView extends FrameLayout {
      * executed and componentWillUnmount is called
      */
     public void onRemoveFromScreen() {
+        removeOnFirstLayoutListener();
         ReflectionUtils.setField(mReactRootView, "mAttachScheduled", false);
     }
 
@@ -44,20 +44,20 @@ public class RnnTabLayout extends TabLayout {
     }
 
     public void setStyle(Screen screen) {
-        if (screen.toolBarColor != null) {
-            setBackgroundColor(screen.toolBarColor);
+        if (screen.style.toolBarColor != null) {
+            setBackgroundColor(screen.style.toolBarColor);
         } else {
             resetBackground();
         }
 
-        if (screen.tabNormalTextColor != null && screen.tabSelectedTextColor != null) {
-            setTabTextColors(screen.tabNormalTextColor, screen.tabSelectedTextColor);
+        if (screen.style.tabNormalTextColor != null && screen.style.tabSelectedTextColor != null) {
+            setTabTextColors(screen.style.tabNormalTextColor, screen.style.tabSelectedTextColor);
         } else {
             resetTextColors();
         }
 
-        if (screen.tabIndicatorColor != null) {
-            setSelectedTabIndicatorColor(screen.tabIndicatorColor);
+        if (screen.style.tabIndicatorColor != null) {
+            setSelectedTabIndicatorColor(screen.style.tabIndicatorColor);
         } else {
             resetSelectedTabIndicatorColor();
         }
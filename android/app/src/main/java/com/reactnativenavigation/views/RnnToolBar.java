@@ -5,8 +5,11 @@ import android.content.Context;
 import android.graphics.Color;
 import android.graphics.drawable.Drawable;
 import android.os.AsyncTask;
+import android.os.Handler;
+import android.os.Looper;
 import android.support.annotation.ColorInt;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.support.annotation.UiThread;
 import android.support.v4.content.ContextCompat;
 import android.support.v4.widget.DrawerLayout;
@@ -25,17 +28,18 @@ import android.widget.TextView;
 
 import com.reactnativenavigation.R;
 import com.reactnativenavigation.activities.BaseReactActivity;
+import com.reactnativenavigation.core.ButtonIdRegistry;
 import com.reactnativenavigation.core.objects.Button;
 import com.reactnativenavigation.core.objects.Screen;
+import com.reactnativenavigation.core.objects.ScreenStyle;
 import com.reactnativenavigation.utils.ContextProvider;
+import com.reactnativenavigation.utils.IconLoader;
 import com.reactnativenavigation.utils.IconUtils;
 import com.reactnativenavigation.utils.ImageUtils;
 
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Created by guyc on 09/04/16.
@@ -44,12 +48,14 @@ public class RnnToolBar extends Toolbar {
 
     private List<Screen> mScreens;
     private AsyncTask mDrawerIconTask;
-    private AsyncTask mSetupToolbarTask;
+    private Runnable mSetupToolbarTask;
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
     private Drawable mBackground;
     private Drawable mDrawerIcon;
     private DrawerLayout mDrawerLayout;
     private ActionBarDrawerToggle mDrawerToggle;
     private ArrayList<View> mMenuItems;
+    private ScreenStyle mAppliedStyle;
 
     public RnnToolBar(Context context) {
         super(context);
@@ -71,24 +77,32 @@ public class RnnToolBar extends Toolbar {
         mBackground = getBackground();
     }
 
+    private AppCompatActivity getActivity() {
+        return (AppCompatActivity) ContextProvider.getActivity(getContext());
+    }
+
     public void setScreens(List<Screen> screens) {
         mScreens = screens;
     }
 
     public void setStyle(Screen screen) {
-        if (screen.toolBarColor != null) {
-            setBackgroundColor(screen.toolBarColor);
-        } else {
-            resetBackground();
-        }
+        // Styles are interned, so screens sharing a style already have their colors applied
+        if (screen.style != mAppliedStyle) {
+            mAppliedStyle = screen.style;
+            if (screen.style.toolBarColor != null) {
+                setBackgroundColor(screen.style.toolBarColor);
+            } else {
+                resetBackground();
+            }
 
-        if (screen.navBarTextColor != null) {
-            setTitleTextColor(screen.navBarTextColor);
-        } else {
-            resetTitleTextColor();
+            if (screen.style.navBarTextColor != null) {
+                setTitleTextColor(screen.style.navBarTextColor);
+            } else {
+                resetTitleTextColor();
+            }
         }
 
-        if (screen.toolBarHidden != null && screen.toolBarHidden) {
+        if (screen.style.toolBarHidden) {
             hideToolbar();
         } else {
             showToolbar();
@@ -132,6 +146,22 @@ public class RnnToolBar extends Toolbar {
         mDrawerIcon = icon;
     }
 
+    /**
+     * Detaches the drawer set up by {@link #setupDrawer}, so a different one, or none, can be set up.
+     */
+    public void removeDrawer() {
+        if (mDrawerIconTask != null) {
+            mDrawerIconTask.cancel(false);
+            mDrawerIconTask = null;
+        }
+        if (mDrawerLayout != null) {
+            mDrawerLayout.setDrawerListener(null);
+        }
+        mDrawerLayout = null;
+        mDrawerToggle = null;
+        mDrawerIcon = null;
+    }
+
     public void showDrawer(boolean animated) {
         if (mDrawerLayout == null) {
             return;
@@ -175,12 +205,13 @@ public class RnnToolBar extends Toolbar {
 
     public void setupToolbarButtonsAsync(Screen oldScreen, Screen newScreen) {
         if (mSetupToolbarTask == null) {
-            mSetupToolbarTask = new SetupToolbarButtonsTask(this, oldScreen, newScreen).execute();
+            mSetupToolbarTask = new SetupToolbarButtonsTask(this, oldScreen, newScreen);
+            mHandler.post(mSetupToolbarTask);
         }
     }
 
     public void showToolbar(boolean animated) {
-        ActionBar actionBar = ((AppCompatActivity) getContext()).getSupportActionBar();
+        ActionBar actionBar = getActivity().getSupportActionBar();
         if (actionBar != null) {
             actionBar.setShowHideAnimationEnabled(animated);
             // We hide the ToolBar's parent (AppBarLayout) since this animates the shadow added by AppBar as well
@@ -189,7 +220,7 @@ public class RnnToolBar extends Toolbar {
     }
 
     public void hideToolbar(boolean animated) {
-        ActionBar actionBar = ((AppCompatActivity) getContext()).getSupportActionBar();
+        ActionBar actionBar = getActivity().getSupportActionBar();
         if (actionBar != null) {
             actionBar.setShowHideAnimationEnabled(animated);
             // We hide the ToolBar's parent (AppBarLayout) since this animates the shadow added by AppBar as well
@@ -221,7 +252,7 @@ public class RnnToolBar extends Toolbar {
             return;
         }
 
-        BaseReactActivity activity = (BaseReactActivity) getContext();
+        BaseReactActivity activity = (BaseReactActivity) getActivity();
         boolean isBack = activity.getScreenStackSize() > 1;
         boolean hasDrawer = mDrawerToggle != null;
 
@@ -239,8 +270,8 @@ public class RnnToolBar extends Toolbar {
 
         if (navArrow != null) {
             navArrow.setProgress(isBack ? 1.0f : 0.0f);
-            if (screen != null && screen.navBarButtonColor != null) {
-                navArrow.setColor(screen.navBarButtonColor);
+            if (screen != null && screen.style.navBarButtonColor != null) {
+                navArrow.setColor(screen.style.navBarButtonColor);
             } else {
                 navArrow.setColor(Color.BLACK);
             }
@@ -258,7 +289,7 @@ public class RnnToolBar extends Toolbar {
      */
     @UiThread
     public void update(@NonNull Screen screen) {
-        ((AppCompatActivity) getContext()).setSupportActionBar(this);
+        getActivity().setSupportActionBar(this);
         setTitle(screen.title);
         setStyle(screen);
     }
@@ -276,7 +307,7 @@ public class RnnToolBar extends Toolbar {
         public SetupDrawerIconTask(RnnToolBar toolBar, String drawerIconSource, Screen screen) {
             mToolbarWR = new WeakReference<>(toolBar);
             mDrawerIconSource = drawerIconSource;
-            mTintColor = screen.navBarButtonColor;
+            mTintColor = screen.style.navBarButtonColor;
         }
 
         @Override
@@ -286,16 +317,13 @@ public class RnnToolBar extends Toolbar {
                 return null;
             }
 
-            return IconUtils.getIcon(context, mDrawerIconSource);
+            return IconUtils.getIcon(context, mDrawerIconSource, -1, mTintColor);
         }
 
         @Override
         protected void onPostExecute(Drawable drawerIcon) {
             RnnToolBar toolBar = mToolbarWR.get();
             if (drawerIcon != null) {
-                if (mTintColor != null) {
-                    ImageUtils.tint(drawerIcon, mTintColor);
-                }
                 toolBar.setDrawerIcon(drawerIcon);
             }
 
@@ -304,7 +332,7 @@ public class RnnToolBar extends Toolbar {
         }
     }
 
-    private static class SetupToolbarButtonsTask extends AsyncTask<Void, Void, Map<String, Drawable>> {
+    private static class SetupToolbarButtonsTask implements Runnable {
         private final List<Button> mOldButtons;
         private final List<Button> mNewButtons;
         private final WeakReference<RnnToolBar> mToolbarWR;
@@ -315,28 +343,12 @@ public class RnnToolBar extends Toolbar {
             mToolbarWR = new WeakReference<>(toolBar);
             mOldButtons = oldScreen == null ? null : oldScreen.getButtons();
             mNewButtons = newScreen.getButtons();
-            mTintColor = newScreen.navBarButtonColor;
+            mTintColor = newScreen.style.navBarButtonColor;
             mIconDimensions = (int) ImageUtils.convertDpToPixel(48, toolBar.getContext());
         }
 
         @Override
-        protected Map<String, Drawable> doInBackground(Void... params) {
-            Context context = ContextProvider.getActivityContext();
-            if (context == null) {
-                return null;
-            }
-
-            Map<String, Drawable> icons = new HashMap<>();
-            for (Button button : mNewButtons) {
-                if (button.hasIcon()) {
-                    icons.put(button.id, button.getIcon(context, mIconDimensions));
-                }
-            }
-            return icons;
-        }
-
-        @Override
-        protected void onPostExecute(Map<String, Drawable> icons) {
+        public void run() {
             final Context context = ContextProvider.getActivityContext();
             if (context == null) {
                 return;
@@ -357,7 +369,10 @@ public class RnnToolBar extends Toolbar {
                 menu.clear();
             } else {
                 for (Button btn : mOldButtons) {
-                    menu.removeItem(btn.getItemId());
+                    int itemId = btn.findItemId();
+                    if (itemId != ButtonIdRegistry.NO_ID) {
+                        menu.removeItem(itemId);
+                    }
                 }
             }
 
@@ -371,11 +386,9 @@ public class RnnToolBar extends Toolbar {
 
                 // Set button icon
                 if (button.hasIcon()) {
-                    Drawable icon = icons.get(button.id);
-                    if (mTintColor != null) {
-                        ImageUtils.tint(icon, mTintColor);
-                    }
-                    item.setIcon(icon);
+                    // Icons are applied as they arrive, a placeholder keeps the item's size meanwhile
+                    item.setIcon(IconUtils.createPlaceholder(mIconDimensions));
+                    loadIcon(context, menu, item, button);
                 } else {
                     textButtons.add(button.title);
                 }
@@ -421,6 +434,19 @@ public class RnnToolBar extends Toolbar {
             }
         }
 
+        private void loadIcon(Context context, final Menu menu, final MenuItem item, Button button) {
+            final int itemId = item.getItemId();
+            button.loadIcon(context, mIconDimensions, mTintColor, new IconLoader.OnIconLoadedListener() {
+                @Override
+                public void onIconLoaded(@Nullable Drawable icon) {
+                    // Ignore icons of items which were removed while the icon was loading
+                    if (icon != null && menu.findItem(itemId) == item) {
+                        item.setIcon(icon);
+                    }
+                }
+            });
+        }
+
         private int getMenuItemShowAction(String action) {
             switch (action) {
                 case "never":
@@ -2,59 +2,188 @@ package com.reactnativenavigation.views;
 
 import android.animation.LayoutTransition;
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.AttributeSet;
 import android.view.ViewGroup;
 import android.widget.FrameLayout;
 
 import com.facebook.react.ReactInstanceManager;
+import com.facebook.react.bridge.Arguments;
 import com.reactnativenavigation.activities.BaseReactActivity;
+import com.reactnativenavigation.core.ButtonIdRegistry;
 import com.reactnativenavigation.core.RctManager;
 import com.reactnativenavigation.core.objects.Screen;
+import com.reactnativenavigation.utils.ContextProvider;
+import com.reactnativenavigation.utils.ShellInflater;
 
 import java.util.Stack;
 
 import static android.view.ViewGroup.LayoutParams.MATCH_PARENT;
 
 public class ScreenStack extends FrameLayout {
+    public static final String EVENT_TYPE_SCREEN_CHANGED = "ScreenChangedEvent";
+    public static final String EVENT_WILL_APPEAR = "willAppear";
+    public static final String EVENT_DID_APPEAR = "didAppear";
+    public static final String EVENT_WILL_DISAPPEAR = "willDisappear";
+    public static final String EVENT_DID_DISAPPEAR = "didDisappear";
 
     private static final int DISAPPEAR_ANIMATION_DELAY = 200;
+    private static final Handler sMainHandler = new Handler(Looper.getMainLooper());
 
     private static class ScreenView {
         Screen screen;
         RctView view;
+        // Whether the screen's root view was laid out, before that JS may not be listening to its events
+        boolean mounted;
+        // Whether JS was last told the screen is visible
+        boolean appeared;
 
-        public ScreenView(Screen screen, RctView view) {
+        public ScreenView(Screen screen) {
             this.screen = screen;
-            this.view = view;
         }
     }
 
     private final Stack<ScreenView> mStack = new Stack<>();
     private final ReactInstanceManager mReactInstanceManager = RctManager.getInstance().getReactInstanceManager();
-    private BaseReactActivity mReactActivity;
+    private boolean mAttached;
+    private boolean mCovered;
+    // Whether the top screen is visible
+    private boolean mDisplayed;
 
     public ScreenStack(BaseReactActivity context) {
         super(context);
-        init(context);
+        init();
     }
 
     public ScreenStack(Context context, AttributeSet attrs) {
         super(context, attrs);
-        init(context);
+        init();
     }
 
-    private void init(Context context) {
-        mReactActivity = (BaseReactActivity) context;
+    private void init() {
         setLayoutTransition(new LayoutTransition());
     }
 
+    /**
+     * Resolved on each use, since stacks inflated ahead of time by {@link ShellInflater} are handed to
+     * the activity which obtains them.
+     */
+    private BaseReactActivity getReactActivity() {
+        return (BaseReactActivity) ContextProvider.getActivity(getContext());
+    }
+
+    /**
+     * Marks the stack as hidden while it stays attached, such as when a modal is displayed above it.
+     */
+    public void setCovered(boolean covered) {
+        mCovered = covered;
+        updateDisplayed();
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        mAttached = true;
+        updateDisplayed();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        mAttached = false;
+        updateDisplayed();
+    }
+
+    private void updateDisplayed() {
+        boolean displayed = mAttached && !mCovered;
+        if (displayed == mDisplayed) {
+            return;
+        }
+        mDisplayed = displayed;
+        if (!mStack.isEmpty()) {
+            if (displayed) {
+                dispatchAppear(mStack.peek());
+            } else {
+                dispatchDisappear(mStack.peek());
+            }
+        }
+    }
+
+    /**
+     * Tells JS the screen is about to be displayed, and that it's displayed once the change is applied.
+     * Screens which aren't mounted yet are told once they are, see {@link #onMounted}.
+     */
+    private void dispatchAppear(ScreenView screenView) {
+        if (!screenView.mounted || screenView.appeared) {
+            return;
+        }
+        screenView.appeared = true;
+        dispatchVisibilityEvents(screenView.screen, EVENT_WILL_APPEAR, EVENT_DID_APPEAR);
+        // Events held back while the screen was hidden or mounting follow willAppear
+        RctManager.getInstance().onScreenVisibilityChanged(screenView.screen, true);
+    }
+
+    /**
+     * Tells JS the screen is being hidden, unless it was never told the screen appeared.
+     */
+    private void dispatchDisappear(ScreenView screenView) {
+        if (!screenView.appeared) {
+            return;
+        }
+        screenView.appeared = false;
+        RctManager.getInstance().onScreenVisibilityChanged(screenView.screen, false);
+        dispatchVisibilityEvents(screenView.screen, EVENT_WILL_DISAPPEAR, EVENT_DID_DISAPPEAR);
+    }
+
+    /**
+     * Creates the view of a screen being added to the stack. Its appearance is dispatched once it's mounted.
+     */
+    private ScreenView createScreenView(Screen screen, final RctView.OnDisplayedListener onDisplayed) {
+        final ScreenView screenView = new ScreenView(screen);
+        screenView.view = new RctView(getReactActivity(), mReactInstanceManager, screen, new RctView.OnDisplayedListener() {
+            @Override
+            public void onDisplayed() {
+                onMounted(screenView);
+                if (onDisplayed != null) {
+                    onDisplayed.onDisplayed();
+                }
+            }
+        });
+        return screenView;
+    }
+
+    private void onMounted(ScreenView screenView) {
+        screenView.mounted = true;
+        // The root view holds its own copy of the props, they're regenerated if the screen is mounted again
+        screenView.screen.compactPassedProps();
+        if (mDisplayed && !mStack.isEmpty() && mStack.peek() == screenView) {
+            dispatchAppear(screenView);
+        }
+    }
+
+    private void dispatchVisibilityEvents(final Screen screen, String willEventId, final String didEventId) {
+        RctManager.getInstance().sendEvent(EVENT_TYPE_SCREEN_CHANGED, willEventId, screen, Arguments.createMap());
+        sMainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                RctManager.getInstance().sendEvent(EVENT_TYPE_SCREEN_CHANGED, didEventId, screen, Arguments.createMap());
+            }
+        });
+    }
+
     public void push(Screen screen) {
         push(screen, null);
     }
 
     public void push(Screen screen, RctView.OnDisplayedListener onDisplayed) {
+        screen.retainProps();
         RctView oldView = mStack.isEmpty() ? null : mStack.peek().view;
-        RctView view = new RctView(mReactActivity, mReactInstanceManager, screen, onDisplayed);
+        if (oldView != null) {
+            dispatchDisappear(mStack.peek());
+        }
+        ScreenView screenView = createScreenView(screen, onDisplayed);
+        RctView view = screenView.view;
         if (oldView != null) {
             addView(view, MATCH_PARENT, MATCH_PARENT);
 
@@ -65,7 +194,7 @@ public class ScreenStack extends FrameLayout {
         } else {
             addView(view, MATCH_PARENT, MATCH_PARENT);
         }
-        mStack.push(new ScreenView(screen, view));
+        mStack.push(screenView);
     }
 
     public Screen pop() {
@@ -74,6 +203,10 @@ public class ScreenStack extends FrameLayout {
         }
 
         ScreenView popped = mStack.pop();
+        dispatchDisappear(popped);
+        if (mDisplayed) {
+            dispatchAppear(mStack.peek());
+        }
 
         RctView newView = mStack.peek().view;
         addView(newView);
@@ -81,6 +214,7 @@ public class ScreenStack extends FrameLayout {
 
         popped.view.onRemoveFromScreen();
         removeView(popped.view);
+        releaseScreen(popped.screen);
         return popped.screen;
     }
 
@@ -89,11 +223,17 @@ public class ScreenStack extends FrameLayout {
             return null;
         }
 
+        dispatchDisappear(mStack.peek());
+        if (mDisplayed) {
+            dispatchAppear(mStack.firstElement());
+        }
+
         ScreenView oldScreenView = null;
         while (getStackSize() > 1) {
             ScreenView popped = mStack.pop();
             popped.view.onRemoveFromScreen();
             removeView(popped.view);
+            releaseScreen(popped.screen);
             if (oldScreenView == null) {
                 oldScreenView = popped;
             }
@@ -111,8 +251,12 @@ public class ScreenStack extends FrameLayout {
     }
 
     public Screen resetTo(Screen screen, RctView.OnDisplayedListener onDisplayed) {
-        RctView view = new RctView(mReactActivity, mReactInstanceManager, screen, onDisplayed);
-        addView(view, MATCH_PARENT, MATCH_PARENT);
+        screen.retainProps();
+        if (!mStack.isEmpty()) {
+            dispatchDisappear(mStack.peek());
+        }
+        ScreenView screenView = createScreenView(screen, onDisplayed);
+        addView(screenView.view, MATCH_PARENT, MATCH_PARENT);
 
         ScreenView oldScreenView = null;
         if (!mStack.isEmpty()) {
@@ -120,6 +264,7 @@ public class ScreenStack extends FrameLayout {
                 ScreenView popped = mStack.pop();
                 popped.view.onRemoveFromScreen();
                 removeView(popped.view);
+                releaseScreen(popped.screen);
                 if (oldScreenView == null) {
                     oldScreenView = popped;
                 }
@@ -127,7 +272,7 @@ public class ScreenStack extends FrameLayout {
         }
 
         // Add screen to stack after it's clear
-        mStack.push(new ScreenView(screen, view));
+        mStack.push(screenView);
 
         if (oldScreenView == null) {
             return null;
@@ -136,6 +281,12 @@ public class ScreenStack extends FrameLayout {
         return oldScreenView.screen;
     }
 
+    private void releaseScreen(Screen screen) {
+        RctManager.getInstance().onScreenRemoved(screen);
+        screen.releaseProps();
+        ButtonIdRegistry.getInstance().release(screen.screenInstanceId);
+    }
+
     public boolean isEmpty() {
         return mStack.isEmpty();
     }
@@ -148,6 +299,17 @@ public class ScreenStack extends FrameLayout {
         return mStack.peek().screen;
     }
 
+    /**
+     * Returns the approximate number of bytes retained by the props of all screens in this stack.
+     */
+    public int getRetainedPropsBytes() {
+        int bytes = 0;
+        for (ScreenView screenView : mStack) {
+            bytes += screenView.screen.getRetainedPropsBytes();
+        }
+        return bytes;
+    }
+
     /**
      * Remove the ScreenStack from {@code parent} while preventing all child react views from getting unmounted
      */
@@ -166,9 +328,24 @@ public class ScreenStack extends FrameLayout {
         parent.addView(this, new FrameLayout.LayoutParams(MATCH_PARENT, MATCH_PARENT));
     }
 
+    /**
+     * Prevents the displayed screen from being unmounted when the stack is detached, so the work can
+     * be done later by {@link #removeAllReactViews()}.
+     */
+    public void keepMountedOnDetach() {
+        if (!mStack.isEmpty()) {
+            mStack.peek().view.onTemporallyRemovedFromScreen();
+        }
+    }
+
     public void removeAllReactViews() {
+        if (!mStack.isEmpty()) {
+            dispatchDisappear(mStack.peek());
+        }
         while (!mStack.empty()) {
-            RctView view = mStack.pop().view;
+            ScreenView popped = mStack.pop();
+            releaseScreen(popped.screen);
+            RctView view = popped.view;
             // Ensure view will be properly detached and unmounted
             view.onRemoveFromScreen();
             // Unmount the view
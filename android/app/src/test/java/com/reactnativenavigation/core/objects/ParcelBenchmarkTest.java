@@ -0,0 +1,206 @@
+package com.reactnativenavigation.core.objects;
+
+import android.os.Bundle;
+import android.os.Parcel;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.reactnativenavigation.BuildConfig;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares passing a 5 tab launch spec as Parcelables with the Serializable screens and buttons it used to be
+ * passed as. Robolectric's Parcel approximates sizes, but runs the same writes and reads as a device.
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class ParcelBenchmarkTest {
+    private static final int TAB_COUNT = 5;
+    private static final int ITERATIONS = 500;
+
+    /**
+     * The fields Screen had while it was Serializable.
+     */
+    private static class SerializableScreen implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        String title;
+        String label;
+        String screenId;
+        String screenInstanceId;
+        String navigatorId;
+        String navigatorEventId;
+        String icon;
+        ArrayList<SerializableButton> buttons = new ArrayList<>();
+        boolean backButtonHidden;
+        HashMap<String, Object> passedProps = new HashMap<>();
+        Integer toolBarColor;
+        Boolean toolBarHidden;
+        Integer statusBarColor;
+        Integer navigationBarColor;
+        Integer navBarButtonColor;
+        Integer navBarTextColor;
+        Integer tabNormalTextColor;
+        Integer tabSelectedTextColor;
+        Integer tabIndicatorColor;
+        Boolean bottomTabsHidden;
+
+        SerializableScreen(Screen screen) {
+            title = screen.title;
+            label = screen.label;
+            screenId = screen.screenId;
+            screenInstanceId = screen.screenInstanceId;
+            navigatorId = screen.navigatorId;
+            navigatorEventId = screen.navigatorEventId;
+            icon = screen.icon;
+            for (Button button : screen.getButtons()) {
+                buttons.add(new SerializableButton(button));
+            }
+            backButtonHidden = screen.backButtonHidden;
+            passedProps = toMap(screen.getPassedProps());
+            toolBarColor = screen.style.toolBarColor;
+            toolBarHidden = screen.style.toolBarHidden;
+            bottomTabsHidden = screen.style.bottomTabsHidden;
+        }
+
+        private static HashMap<String, Object> toMap(Bundle bundle) {
+            HashMap<String, Object> map = new HashMap<>();
+            for (String key : bundle.keySet()) {
+                Object value = bundle.get(key);
+                map.put(key, value instanceof Bundle ? toMap((Bundle) value) : value);
+            }
+            return map;
+        }
+    }
+
+    /**
+     * The fields Button had while it was Serializable.
+     */
+    private static class SerializableButton implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        String id;
+        String title;
+        String icon;
+        boolean disabled;
+        String showAsAction;
+
+        SerializableButton(Button button) {
+            id = button.id;
+            title = button.title;
+            disabled = button.disabled;
+            showAsAction = button.showAsAction;
+        }
+    }
+
+    @Test
+    public void benchmarkParcelableAgainstSerializable() throws Exception {
+        LaunchSpec spec = createSpec();
+        ArrayList<SerializableScreen> serializableScreens = new ArrayList<>();
+        for (Screen screen : spec.screens) {
+            serializableScreens.add(new SerializableScreen(screen));
+        }
+
+        // Warm up both paths
+        int parcelBytes = 0;
+        int serializedBytes = 0;
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            parcelBytes = parcelRoundTrip(spec);
+            serializedBytes = serializeRoundTrip(serializableScreens);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            parcelRoundTrip(spec);
+        }
+        long parcelNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            serializeRoundTrip(serializableScreens);
+        }
+        long serializedNanos = System.nanoTime() - start;
+
+        System.out.println(TAB_COUNT + " tab launch spec round trip: Parcelable " + parcelNanos / ITERATIONS / 1000 +
+                " us, " + parcelBytes + " bytes; Serializable " + serializedNanos / ITERATIONS / 1000 + " us, " +
+                serializedBytes + " bytes");
+    }
+
+    /**
+     * Writes and reads back the spec, returning the number of bytes written.
+     */
+    private static int parcelRoundTrip(LaunchSpec spec) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            spec.writeToParcel(parcel, 0);
+            int size = parcel.dataSize();
+            parcel.setDataPosition(0);
+            LaunchSpec restored = LaunchSpec.CREATOR.createFromParcel(parcel);
+            assertEquals(TAB_COUNT, restored.screens.size());
+            return size;
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    /**
+     * Serializes and deserializes the screens, returning the number of bytes written.
+     */
+    @SuppressWarnings("unchecked")
+    private static int serializeRoundTrip(ArrayList<SerializableScreen> screens)
+            throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(screens);
+        out.close();
+        byte[] data = bytes.toByteArray();
+
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data));
+        ArrayList<SerializableScreen> restored = (ArrayList<SerializableScreen>) in.readObject();
+        in.close();
+        assertEquals(TAB_COUNT, restored.size());
+        return data.length;
+    }
+
+    private static LaunchSpec createSpec() {
+        ArrayList<Screen> screens = new ArrayList<>();
+        for (int i = 0; i < TAB_COUNT; i++) {
+            screens.add(new Screen(ReadableMaps.of(
+                    "title", "Tab " + i,
+                    "label", "Tab " + i,
+                    "screen", "example.Tab" + i + "Screen",
+                    "screenInstanceID", "screen" + i,
+                    "navigatorID", "navigator" + i,
+                    "navigatorEventID", "navigator" + i + "_events",
+                    "icon", "img_tab_" + i,
+                    "passProps", props(i),
+                    "rightButtons", ReadableMaps.arrayOf(
+                            ReadableMaps.of("id", "edit", "title", "Edit"),
+                            ReadableMaps.of("id", "share", "title", "Share", "showAsAction", "never")),
+                    "navigatorStyle", ReadableMaps.of("navBarBackgroundColor", "#ff0000", "tabBarHidden", false))));
+        }
+        return new LaunchSpec(screens, null, new Bundle(), true);
+    }
+
+    private static ReadableMap props(int index) {
+        return ReadableMaps.of(
+                "tab", index,
+                "title", "Tab " + index,
+                "showBadge", true,
+                "filter", ReadableMaps.of("query", "", "sort", "recent"));
+    }
+}
@@ -0,0 +1,144 @@
+package com.reactnativenavigation.core.objects;
+
+import android.graphics.Color;
+import android.os.Bundle;
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.reactnativenavigation.BuildConfig;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class ParcelableTest {
+
+    @Test
+    public void buttonSurvivesParceling() {
+        Button button = new Button(ReadableMaps.of(
+                "id", "save",
+                "title", "Save",
+                "icon", "img_save",
+                "disabled", true,
+                "showAsAction", "always"), "screen1");
+
+        Button restored = parcel(button, Button.CREATOR);
+
+        assertEquals("save", restored.id);
+        assertEquals("Save", restored.title);
+        assertTrue(restored.hasIcon());
+        assertTrue(restored.disabled);
+        assertEquals("always", restored.showAsAction);
+        // Still scoped to the same screen
+        assertEquals(button.getItemId(), restored.findItemId());
+    }
+
+    @Test
+    public void screenSurvivesParceling() {
+        Screen screen = new Screen(screenMap("example.FirstScreen", "screen1"));
+
+        Screen restored = parcel(screen, Screen.CREATOR);
+
+        assertEquals("First", restored.title);
+        assertEquals("One", restored.label);
+        assertEquals("example.FirstScreen", restored.screenId);
+        assertEquals("screen1", restored.screenInstanceId);
+        assertEquals("navigator1", restored.navigatorId);
+        assertEquals("navigator1_events", restored.navigatorEventId);
+        assertEquals("img_one", restored.icon);
+        assertTrue(restored.backButtonHidden);
+        assertEquals("shared", restored.passPropsKey);
+        assertEquals(1, restored.getButtons().size());
+        assertEquals("save", restored.getButtons().get(0).id);
+
+        Bundle props = restored.getPassedProps();
+        assertNotNull(props);
+        assertEquals("value", props.getString("key"));
+        assertEquals(42, props.getDouble("count"), 0);
+        assertTrue(restored.getRetainedPropsBytes() > 0);
+
+        assertEquals(Integer.valueOf(Color.RED), restored.style.toolBarColor);
+        assertTrue(restored.style.toolBarHidden);
+        assertFalse(restored.style.bottomTabsHidden);
+        // Styles are interned, the restored screen shares the original's instance
+        assertSame(screen.style, restored.style);
+    }
+
+    @Test
+    public void screenWithoutPropsOrStyleSurvivesParceling() {
+        Screen restored = parcel(new Screen(ReadableMaps.of("screen", "example.Plain")), Screen.CREATOR);
+
+        assertEquals("example.Plain", restored.screenId);
+        assertNull(restored.getPassedProps());
+        assertEquals(0, restored.getRetainedPropsBytes());
+        assertEquals(ScreenStyle.EMPTY, restored.style);
+        assertTrue(restored.getButtons().isEmpty());
+    }
+
+    @Test
+    public void compactedPropsAreRegenerated() {
+        Screen screen = new Screen(screenMap("example.FirstScreen", "screen1"));
+        int liveBytes = screen.getRetainedPropsBytes();
+
+        screen.compactPassedProps();
+        assertTrue(screen.getRetainedPropsBytes() < liveBytes);
+
+        Bundle props = screen.getPassedProps();
+        assertNotNull(props);
+        assertEquals("value", props.getString("key"));
+        assertEquals(liveBytes, screen.getRetainedPropsBytes());
+    }
+
+    @Test
+    public void drawerSurvivesParceling() {
+        Drawer drawer = new Drawer(ReadableMaps.of(
+                "left", screenMap("example.Drawer", "drawer1"),
+                "disableOpenGesture", true));
+
+        Drawer restored = parcel(drawer, Drawer.CREATOR);
+
+        assertNotNull(restored.left);
+        assertEquals("example.Drawer", restored.left.screenId);
+        assertEquals("drawer1", restored.left.screenInstanceId);
+        assertNull(restored.right);
+        assertTrue(restored.disableOpenGesture);
+    }
+
+    private static ReadableMap screenMap(String screenId, String instanceId) {
+        return ReadableMaps.of(
+                "title", "First",
+                "label", "One",
+                "screen", screenId,
+                "screenInstanceID", instanceId,
+                "navigatorID", "navigator1",
+                "navigatorEventID", "navigator1_events",
+                "icon", "img_one",
+                "backButtonHidden", true,
+                "passProps", ReadableMaps.of("key", "value", "count", 42),
+                "passPropsKey", "shared",
+                "rightButtons", ReadableMaps.arrayOf(ReadableMaps.of("id", "save", "title", "Save")),
+                "navigatorStyle", ReadableMaps.of("navBarBackgroundColor", "#ff0000", "navBarHidden", true));
+    }
+
+    private static <T extends Parcelable> T parcel(T value, Parcelable.Creator<T> creator) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            value.writeToParcel(parcel, 0);
+            parcel.setDataPosition(0);
+            return creator.createFromParcel(parcel);
+        } finally {
+            parcel.recycle();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.reactnativenavigation.core.objects;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.bridge.ReadableType;
+
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Builds the maps and arrays JS passes over the bridge, without a running bridge.
+ */
+public class ReadableMaps {
+
+    /**
+     * @param keysAndValues Alternating keys and values. Values are Strings, Booleans, Numbers, ReadableMaps
+     *                      or ReadableArrays.
+     */
+    public static ReadableMap of(Object... keysAndValues) {
+        final Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            values.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+
+        ReadableMap map = mock(ReadableMap.class);
+        when(map.hasKey(anyString())).thenAnswer(new Answer<Boolean>() {
+            @Override
+            public Boolean answer(InvocationOnMock invocation) {
+                return values.containsKey((String) invocation.getArguments()[0]);
+            }
+        });
+        Answer<Object> getValue = new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                return values.get((String) invocation.getArguments()[0]);
+            }
+        };
+        when(map.getString(anyString())).thenAnswer(getValue);
+        when(map.getBoolean(anyString())).thenAnswer(getValue);
+        when(map.getMap(anyString())).thenAnswer(getValue);
+        when(map.getArray(anyString())).thenAnswer(getValue);
+        when(map.getDouble(anyString())).thenAnswer(new Answer<Double>() {
+            @Override
+            public Double answer(InvocationOnMock invocation) {
+                return ((Number) values.get((String) invocation.getArguments()[0])).doubleValue();
+            }
+        });
+        when(map.getInt(anyString())).thenAnswer(new Answer<Integer>() {
+            @Override
+            public Integer answer(InvocationOnMock invocation) {
+                return ((Number) values.get((String) invocation.getArguments()[0])).intValue();
+            }
+        });
+        when(map.getType(anyString())).thenAnswer(new Answer<ReadableType>() {
+            @Override
+            public ReadableType answer(InvocationOnMock invocation) {
+                return getType(values.get((String) invocation.getArguments()[0]));
+            }
+        });
+        when(map.keySetIterator()).thenAnswer(new Answer<ReadableMapKeySetIterator>() {
+            @Override
+            public ReadableMapKeySetIterator answer(InvocationOnMock invocation) {
+                final Iterator<String> keys = values.keySet().iterator();
+                return new ReadableMapKeySetIterator() {
+                    @Override
+                    public boolean hasNextKey() {
+                        return keys.hasNext();
+                    }
+
+                    @Override
+                    public String nextKey() {
+                        return keys.next();
+                    }
+                };
+            }
+        });
+        // Equal content serializes the same, as native maps do
+        when(map.toString()).thenReturn(values.toString());
+        return map;
+    }
+
+    public static ReadableArray arrayOf(final ReadableMap... maps) {
+        ReadableArray array = mock(ReadableArray.class);
+        when(array.size()).thenReturn(maps.length);
+        when(array.getType(anyInt())).thenReturn(ReadableType.Map);
+        when(array.getMap(anyInt())).thenAnswer(new Answer<ReadableMap>() {
+            @Override
+            public ReadableMap answer(InvocationOnMock invocation) {
+                return maps[(Integer) invocation.getArguments()[0]];
+            }
+        });
+        when(array.toString()).thenReturn(Arrays.toString(maps));
+        return array;
+    }
+
+    private static ReadableType getType(Object value) {
+        if (value == null) {
+            return ReadableType.Null;
+        } else if (value instanceof Boolean) {
+            return ReadableType.Boolean;
+        } else if (value instanceof Number) {
+            return ReadableType.Number;
+        } else if (value instanceof String) {
+            return ReadableType.String;
+        } else if (value instanceof ReadableMap) {
+            return ReadableType.Map;
+        }
+        return ReadableType.Array;
+    }
+}
@@ -0,0 +1,76 @@
+package com.reactnativenavigation.utils;
+
+import android.graphics.Bitmap;
+
+import com.reactnativenavigation.BuildConfig;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class BitmapPoolTest {
+    private final BitmapPool mPool = BitmapPool.getInstance();
+
+    @After
+    public void tearDown() {
+        mPool.clear();
+    }
+
+    @Test
+    public void reusesPooledBitmapOfSameSize() {
+        Bitmap bitmap = Bitmap.createBitmap(16, 16, Bitmap.Config.ARGB_8888);
+        mPool.put(bitmap);
+
+        assertSame(bitmap, mPool.get(16, 16, Bitmap.Config.ARGB_8888));
+        assertNull(mPool.get(16, 16, Bitmap.Config.ARGB_8888));
+    }
+
+    @Test
+    public void reusesLargerBitmapForSmallerImage() {
+        Bitmap bitmap = Bitmap.createBitmap(16, 16, Bitmap.Config.ARGB_8888);
+        mPool.put(bitmap);
+
+        assertNull(mPool.get(32, 32, Bitmap.Config.ARGB_8888));
+        assertSame(bitmap, mPool.get(8, 8, Bitmap.Config.ARGB_8888));
+    }
+
+    @Test
+    @Config(constants = BuildConfig.class, sdk = 18)
+    public void reusesOnlyExactSizeBeforeKitKat() {
+        Bitmap bitmap = Bitmap.createBitmap(16, 16, Bitmap.Config.ARGB_8888);
+        mPool.put(bitmap);
+
+        assertNull(mPool.get(8, 8, Bitmap.Config.ARGB_8888));
+        assertSame(bitmap, mPool.get(16, 16, Bitmap.Config.ARGB_8888));
+    }
+
+    @Test
+    public void dropsRecycledBitmaps() {
+        Bitmap bitmap = Bitmap.createBitmap(16, 16, Bitmap.Config.ARGB_8888);
+        mPool.put(bitmap);
+        bitmap.recycle();
+
+        assertNull(mPool.get(16, 16, Bitmap.Config.ARGB_8888));
+    }
+
+    @Test
+    public void evictsOldestBitmapWhenFull() {
+        Bitmap[] bitmaps = new Bitmap[5];
+        for (int i = 0; i < bitmaps.length; i++) {
+            bitmaps[i] = Bitmap.createBitmap(16, 16, Bitmap.Config.ARGB_8888);
+            mPool.put(bitmaps[i]);
+        }
+
+        for (int i = 1; i < bitmaps.length; i++) {
+            assertSame(bitmaps[i], mPool.get(16, 16, Bitmap.Config.ARGB_8888));
+        }
+        assertNull(mPool.get(16, 16, Bitmap.Config.ARGB_8888));
+    }
+}
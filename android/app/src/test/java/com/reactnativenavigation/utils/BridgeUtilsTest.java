@@ -0,0 +1,102 @@
+package com.reactnativenavigation.utils;
+
+import android.os.Bundle;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.reactnativenavigation.BuildConfig;
+import com.reactnativenavigation.core.objects.ReadableMaps;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class BridgeUtilsTest {
+    private static final int BENCHMARK_ITERATIONS = 2000;
+
+    @After
+    public void tearDown() {
+        BridgeUtils.clearPropsCache();
+    }
+
+    @Test
+    public void reusesPropsConvertedForEqualProps() {
+        BridgeUtils.Props first = BridgeUtils.toProps(props(1));
+        BridgeUtils.Props second = BridgeUtils.toProps(props(1));
+
+        assertSame(first.bundle, second.bundle);
+        assertSame(first.marshalled, second.marshalled);
+        assertEquals("item 1", first.bundle.getString("title"));
+        assertNotSame(first.bundle, BridgeUtils.toProps(props(2)).bundle);
+    }
+
+    @Test
+    public void marshalledPropsRestoreTheBundle() {
+        BridgeUtils.Props props = BridgeUtils.toProps(props(1));
+
+        Bundle restored = BridgeUtils.unmarshall(props.marshalled, getClass().getClassLoader());
+        assertEquals("item 1", restored.getString("title"));
+        assertEquals(1, restored.getBundle("nested").getDouble("index"), 0);
+    }
+
+    @Test
+    public void cacheIsBoundedByBytes() {
+        int added = 0;
+        for (int i = 0; added <= 2 * BridgeUtils.MAX_CACHED_PROPS_BYTES; i++) {
+            added += BridgeUtils.toProps(props(i)).marshalled.length;
+        }
+
+        assertTrue(BridgeUtils.getCachedPropsBytes() <= BridgeUtils.MAX_CACHED_PROPS_BYTES);
+    }
+
+    /**
+     * Compares pushing screens with the same props, which hit the cache, against converting and marshalling
+     * the props on every push. Mocked maps are slower than the bridge's, but each conversion makes the same
+     * number of calls into them.
+     */
+    @Test
+    public void benchmarkCachedConversion() {
+        ReadableMap props = props(1);
+        // Warm up both paths
+        for (int i = 0; i < BENCHMARK_ITERATIONS / 10; i++) {
+            BridgeUtils.toProps(props);
+            BridgeUtils.marshall(BridgeUtils.addMapToBundle(props, new Bundle()));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            BridgeUtils.marshall(BridgeUtils.addMapToBundle(props, new Bundle()));
+        }
+        long uncachedNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            BridgeUtils.toProps(props);
+        }
+        long cachedNanos = System.nanoTime() - start;
+
+        System.out.println("Props conversion: uncached " + uncachedNanos / BENCHMARK_ITERATIONS + " ns/push, cached " +
+                cachedNanos / BENCHMARK_ITERATIONS + " ns/push");
+        assertTrue(cachedNanos < uncachedNanos);
+    }
+
+    private static ReadableMap props(int index) {
+        return ReadableMaps.of(
+                "title", "item " + index,
+                "subtitle", "A description long enough to resemble real props passed to a screen",
+                "id", index,
+                "editable", true,
+                "nested", ReadableMaps.of("index", index, "name", "nested " + index),
+                "items", ReadableMaps.arrayOf(
+                        ReadableMaps.of("id", 1, "label", "first"),
+                        ReadableMaps.of("id", 2, "label", "second")));
+    }
+}
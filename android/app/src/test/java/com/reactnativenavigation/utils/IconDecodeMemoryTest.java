@@ -0,0 +1,69 @@
+package com.reactnativenavigation.utils;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.net.Uri;
+
+import com.reactnativenavigation.BuildConfig;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.Shadows;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowBitmapFactory;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the memory taken by decoding a large icon in full and scaling it down, which is how icons used
+ * to be decoded, with the bounds-first sampled decode. Robolectric's bitmaps only account for their size,
+ * they don't hold pixels.
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class IconDecodeMemoryTest {
+    private static final String ICON = "img_large";
+    private static final int ICON_SIZE = 512;
+    private static final int DIMENSIONS = 48;
+
+    private final byte[] mData = ICON.getBytes();
+    private final Uri mUri = Uri.parse("file:///" + ICON + ".png");
+
+    @Before
+    public void setUp() {
+        ShadowBitmapFactory.provideWidthAndHeightHints(ICON, ICON_SIZE, ICON_SIZE);
+        BitmapPool.getInstance().clear();
+    }
+
+    @After
+    public void tearDown() {
+        BitmapPool.getInstance().clear();
+    }
+
+    @Test
+    public void sampledDecodeTakesLessMemoryThanFullDecode() throws IOException {
+        Bitmap full = BitmapFactory.decodeByteArray(mData, 0, mData.length);
+        Bitmap fullScaled = Bitmap.createScaledBitmap(full, DIMENSIONS, DIMENSIONS, true);
+        int fullPeakBytes = full.getByteCount() + fullScaled.getByteCount();
+
+        Bitmap sampledScaled = IconUtils.decodeBitmap(mUri, mData, DIMENSIONS);
+        Bitmap sampled = Shadows.shadowOf(sampledScaled).getCreatedFromBitmap();
+        assertNotNull(sampled);
+        int sampledPeakBytes = sampled.getByteCount() + sampledScaled.getByteCount();
+
+        System.out.println("Decoding a " + ICON_SIZE + "px icon to " + DIMENSIONS + "px: full decode " +
+                fullPeakBytes + " bytes, sampled decode " + sampledPeakBytes + " bytes");
+        assertEquals(DIMENSIONS, sampledScaled.getWidth());
+        assertEquals(DIMENSIONS, sampledScaled.getHeight());
+        // Sampled by 8, so the intermediate bitmap is 64 times smaller
+        assertEquals(full.getByteCount() / 64, sampled.getByteCount());
+        assertTrue(sampledPeakBytes * 10 < fullPeakBytes);
+    }
+}
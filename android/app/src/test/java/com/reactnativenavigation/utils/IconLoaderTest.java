@@ -0,0 +1,249 @@
+package com.reactnativenavigation.utils;
+
+import android.content.Context;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.Nullable;
+
+import com.reactnativenavigation.BuildConfig;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class IconLoaderTest {
+    private static final long LOAD_WAIT_MS = 5000;
+
+    private Context mContext;
+    private IconServer mServer;
+
+    private static class CountingListener implements IconLoader.OnIconLoadedListener {
+        final CountDownLatch delivered;
+        int calls;
+        Drawable icon;
+
+        CountingListener(int expectedCalls) {
+            delivered = new CountDownLatch(expectedCalls);
+        }
+
+        @Override
+        public void onIconLoaded(@Nullable Drawable icon) {
+            calls++;
+            this.icon = icon;
+            delivered.countDown();
+        }
+    }
+
+    /**
+     * Stands in for the packager which serves icons in dev mode. Responses to paths which were held are only
+     * sent once they're released.
+     */
+    private static class IconServer implements Runnable {
+        private final ServerSocket mSocket;
+        private final Map<String, CountDownLatch> mHeld = new ConcurrentHashMap<>();
+        final AtomicInteger requests = new AtomicInteger();
+        final CountDownLatch requested = new CountDownLatch(1);
+
+        IconServer() throws IOException {
+            mSocket = new ServerSocket(0, 8, InetAddress.getByName("127.0.0.1"));
+            Thread thread = new Thread(this, "icon-server");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        String url(String path) {
+            return "http://127.0.0.1:" + mSocket.getLocalPort() + path;
+        }
+
+        void hold(String path) {
+            mHeld.put(path, new CountDownLatch(1));
+        }
+
+        void release(String path) {
+            mHeld.get(path).countDown();
+        }
+
+        @Override
+        public void run() {
+            while (!mSocket.isClosed()) {
+                try {
+                    final Socket client = mSocket.accept();
+                    new Thread(new Runnable() {
+                        @Override
+                        public void run() {
+                            respond(client);
+                        }
+                    }).start();
+                } catch (IOException e) {
+                    // Ignore
+                }
+            }
+        }
+
+        private void respond(Socket client) {
+            try {
+                String path = readRequestPath(client.getInputStream());
+                requests.incrementAndGet();
+                requested.countDown();
+                CountDownLatch held = mHeld.get(path);
+                if (held != null) {
+                    held.await(LOAD_WAIT_MS, TimeUnit.MILLISECONDS);
+                }
+                // Any bytes decode to an image under Robolectric
+                byte[] body = path.getBytes("UTF-8");
+                OutputStream out = client.getOutputStream();
+                out.write(("HTTP/1.0 200 OK\r\nContent-Type: image/png\r\nContent-Length: " + body.length +
+                        "\r\n\r\n").getBytes("UTF-8"));
+                out.write(body);
+                out.flush();
+            } catch (Exception e) {
+                // Ignore
+            } finally {
+                try {
+                    client.close();
+                } catch (IOException e) {
+                    // Ignore
+                }
+            }
+        }
+
+        private static String readRequestPath(InputStream in) throws IOException {
+            StringBuilder request = new StringBuilder();
+            while (request.indexOf("\r\n\r\n") < 0) {
+                int c = in.read();
+                if (c == -1) {
+                    break;
+                }
+                request.append((char) c);
+            }
+            // GET <path> HTTP/1.1
+            return request.toString().split(" ")[1];
+        }
+
+        void close() throws IOException {
+            for (CountDownLatch held : mHeld.values()) {
+                held.countDown();
+            }
+            mSocket.close();
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        mContext = RuntimeEnvironment.application;
+        mServer = new IconServer();
+        ShadowLooper.pauseMainLooper();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mServer.close();
+    }
+
+    @Test
+    public void deliversNullForMissingSourceSynchronously() {
+        CountingListener listener = new CountingListener(1);
+        IconLoader.load(mContext, null, 48, null, listener);
+
+        assertEquals(1, listener.calls);
+        assertNull(listener.icon);
+    }
+
+    @Test
+    public void deliversIconAsItArrives() throws InterruptedException {
+        CountingListener listener = new CountingListener(1);
+        IconLoader.load(mContext, mServer.url("/img_home.png"), 48, null, LOAD_WAIT_MS, listener);
+
+        awaitDelivery(listener);
+        assertEquals(1, listener.calls);
+        assertNotNull(listener.icon);
+    }
+
+    @Test
+    public void appliesIconArrivingAfterTimeout() throws InterruptedException {
+        mServer.hold("/img_slow.png");
+        CountingListener listener = new CountingListener(2);
+        IconLoader.load(mContext, mServer.url("/img_slow.png"), 48, null, 100, listener);
+        assertTrue(mServer.requested.await(LOAD_WAIT_MS, TimeUnit.MILLISECONDS));
+
+        ShadowLooper.idleMainLooper(100);
+        assertEquals(1, listener.calls);
+        assertNull(listener.icon);
+
+        mServer.release("/img_slow.png");
+        awaitDelivery(listener);
+        assertEquals(2, listener.calls);
+        assertNotNull(listener.icon);
+    }
+
+    @Test
+    public void slowIconDoesNotHoldBackOthers() throws InterruptedException {
+        mServer.hold("/img_slow.png");
+        CountingListener slow = new CountingListener(1);
+        CountingListener fast = new CountingListener(1);
+        IconLoader.load(mContext, mServer.url("/img_slow.png"), 48, null, LOAD_WAIT_MS, slow);
+        IconLoader.load(mContext, mServer.url("/img_fast.png"), 48, null, LOAD_WAIT_MS, fast);
+
+        awaitDelivery(fast);
+        assertNotNull(fast.icon);
+        assertEquals(0, slow.calls);
+
+        mServer.release("/img_slow.png");
+        awaitDelivery(slow);
+        assertNotNull(slow.icon);
+    }
+
+    @Test
+    public void requestsOfSameIconShareOneLoad() throws InterruptedException {
+        mServer.hold("/img_shared.png");
+        CountingListener first = new CountingListener(1);
+        CountingListener second = new CountingListener(1);
+        IconLoader.load(mContext, mServer.url("/img_shared.png"), 48, null, LOAD_WAIT_MS, first);
+        IconLoader.load(mContext, mServer.url("/img_shared.png"), 48, null, LOAD_WAIT_MS, second);
+
+        mServer.release("/img_shared.png");
+        awaitDelivery(first, second);
+        assertNotNull(first.icon);
+        assertNotNull(second.icon);
+        // Each view gets a drawable of its own
+        assertTrue(first.icon != second.icon);
+        assertEquals(1, mServer.requests.get());
+    }
+
+    /**
+     * Runs the tasks posted to the UI thread by the loader threads until each listener received all the calls
+     * it expects, without advancing the clock so timeouts don't fire.
+     */
+    private static void awaitDelivery(CountingListener... listeners) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + LOAD_WAIT_MS;
+        for (CountingListener listener : listeners) {
+            do {
+                ShadowLooper.runUiThreadTasks();
+            } while (!listener.delivered.await(10, TimeUnit.MILLISECONDS) &&
+                    System.currentTimeMillis() < deadline);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.reactnativenavigation.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class IconUtilsTest {
+
+    @Test
+    public void samplesDownLargeImages() {
+        assertEquals(8, IconUtils.calculateInSampleSize(512, 512, 48));
+    }
+
+    @Test
+    public void keepsBothSidesAtLeastRequestedSize() {
+        assertEquals(2, IconUtils.calculateInSampleSize(100, 100, 48));
+        assertEquals(2, IconUtils.calculateInSampleSize(512, 96, 48));
+    }
+
+    @Test
+    public void doesNotSampleSmallImages() {
+        assertEquals(1, IconUtils.calculateInSampleSize(40, 40, 48));
+        assertEquals(1, IconUtils.calculateInSampleSize(48, 48, 48));
+    }
+}
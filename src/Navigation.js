@@ -91,6 +91,29 @@ function dismissInAppNotification(params = {}) {
   return platformSpecific.dismissInAppNotification(params);
 }
 
+function registerProps(key, props = {}) {
+  if (!platformSpecific.registerProps) {
+    console.error('Navigation.registerProps is only supported on Android');
+    return;
+  }
+  return platformSpecific.registerProps(key, props);
+}
+
+function unregisterProps(key) {
+  if (!platformSpecific.unregisterProps) {
+    return;
+  }
+  return platformSpecific.unregisterProps(key);
+}
+
+function registerStyle(name, style = {}) {
+  if (!platformSpecific.registerStyle) {
+    console.error('Navigation.registerStyle is only supported on Android');
+    return;
+  }
+  return platformSpecific.registerStyle(name, style);
+}
+
 export default {
   registerScreen,
   getRegisteredScreen,
@@ -102,6 +125,9 @@ export default {
   dismissLightBox,
   showInAppNotification,
   dismissInAppNotification,
+  registerProps,
+  unregisterProps,
+  registerStyle,
   startTabBasedApp: platformSpecific.startTabBasedApp,
   startSingleScreenApp: platformSpecific.startSingleScreenApp
 }
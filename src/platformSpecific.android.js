@@ -1,5 +1,5 @@
 import React, {Component} from 'react';
-import {AppRegistry} from 'react-native';
+import {AppRegistry, DeviceEventEmitter} from 'react-native';
 
 import Navigation from './Navigation';
 import utils from './utils';
@@ -8,6 +8,11 @@ import {RctActivity} from 'react-native-navigation';
 
 const resolveAssetSource = require('react-native/Libraries/Image/resolveAssetSource');
 
+// Events sent natively within the same frame arrive as a single batch, hand each one to its listeners
+DeviceEventEmitter.addListener('RNN.eventBatch', (events) => {
+  events.forEach(({target, params}) => DeviceEventEmitter.emit(target, params));
+});
+
 function startSingleScreenApp(params) {
   let screen = params.screen;
   if (!screen.screen) {
@@ -19,8 +24,9 @@ function startSingleScreenApp(params) {
   addNavigatorButtons(screen);
   addNavigationStyleParams(screen);
   screen.passProps = params.passProps;
+  screen.passPropsKey = params.passPropsKey;
   const drawer = setupDrawer(params.drawer);
-  RctActivity.startSingleScreenApp(screen, drawer);
+  RctActivity.startSingleScreenApp(screen, drawer, !!params.singleActivityHost);
 }
 
 function startTabBasedApp(params) {
@@ -35,10 +41,11 @@ function startTabBasedApp(params) {
     addNavigationStyleParams(tab);
     addTabIcon(tab);
     tab.passProps = params.passProps;
+    tab.passPropsKey = params.passPropsKey;
   });
 
   const drawer = setupDrawer(params.drawer);
-  RctActivity.startTabBasedApp(params.tabs, params.tabsStyle, drawer);
+  RctActivity.startTabBasedApp(params.tabs, params.tabsStyle, drawer, !!params.singleActivityHost);
 }
 
 function addTabIcon(tab) {
@@ -149,6 +156,18 @@ function dismissAllModals(params) {
   RctActivity.dismissAllModals(params.animationType);
 }
 
+function registerProps(key, props) {
+  RctActivity.registerProps(key, props);
+}
+
+function unregisterProps(key) {
+  RctActivity.unregisterProps(key);
+}
+
+function registerStyle(name, style) {
+  RctActivity.registerStyle(name, style);
+}
+
 function addNavigatorParams(screen, navigator = null, idx = '') {
   screen.navigatorID = navigator ? navigator.navigatorID : utils.getRandomId() + '_nav' + idx;
   screen.screenInstanceID = utils.getRandomId();
@@ -207,6 +226,9 @@ export default {
   showModal,
   dismissModal,
   dismissAllModals,
+  registerProps,
+  unregisterProps,
+  registerStyle,
   navigatorSetButtons,
   navigatorSetTabBadge,
   navigatorSetTitle,